@@ -0,0 +1,76 @@
+package com.taskio.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.taskio.dto.TaskView;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Compares the encodings the list endpoints can negotiate: CPU time per serialization of the
+ * task list, and the response size, printed once per trial as {@code response bytes}. The
+ * Smile and CBOR mappers are built the way Spring MVC builds them for its message converters.
+ * With {@code gzip} the output is also compressed, as Tomcat does for large JSON responses.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ResponseEncodingBenchmark {
+
+    public enum Encoding {
+        JSON, SMILE, CBOR
+    }
+
+    @Param
+    public Encoding encoding;
+
+    @Param({"false", "true"})
+    public boolean gzip;
+
+    private List<TaskView> tasks;
+    private ObjectWriter writer;
+
+    @Setup(Level.Trial)
+    public void setUp(TaskDatasetState state) throws IOException {
+        tasks = state.taskService.getAllTasks();
+        ObjectMapper mapper = switch (encoding) {
+            case JSON -> state.context.getBean(ObjectMapper.class);
+            case SMILE -> Jackson2ObjectMapperBuilder.smile().build();
+            case CBOR -> Jackson2ObjectMapperBuilder.cbor().build();
+        };
+        writer = mapper.writerFor(new TypeReference<List<TaskView>>() {});
+        System.out.printf("%n%s%s, %d tasks: %d response bytes%n", encoding, gzip ? "+gzip" : "",
+                tasks.size(), encodeTaskList().size());
+    }
+
+    @Benchmark
+    public ByteArrayOutputStream encodeTaskList() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (OutputStream out = gzip ? new GZIPOutputStream(bytes) : bytes) {
+            writer.writeValue(out, tasks);
+        }
+        return bytes;
+    }
+}
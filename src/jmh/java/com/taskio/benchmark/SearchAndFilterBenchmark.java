@@ -0,0 +1,51 @@
+package com.taskio.benchmark;
+
+import com.taskio.dto.TaskView;
+import com.taskio.model.TaskStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class SearchAndFilterBenchmark {
+
+    // Filter combinations clients send to /api/tasks/search
+    public enum FilterShape {
+        NONE, TEXT, STATUS, DATE_RANGE, CATEGORY, TEXT_AND_STATUS, ALL
+    }
+
+    private static final LocalDate START_DATE = TaskDatasetState.BASE_DATE.minusDays(30);
+    private static final LocalDate END_DATE = TaskDatasetState.BASE_DATE.plusDays(30);
+
+    @Param
+    public FilterShape filter;
+
+    @Benchmark
+    public List<TaskView> searchAndFilter(TaskDatasetState state) {
+        return switch (filter) {
+            case NONE -> state.taskService.searchAndFilter(null, null, null, null, null);
+            case TEXT -> state.taskService.searchAndFilter("invoice", null, null, null, null);
+            case STATUS -> state.taskService.searchAndFilter(null, TaskStatus.IN_PROGRESS, null, null, null);
+            case DATE_RANGE -> state.taskService.searchAndFilter(null, null, START_DATE, END_DATE, null);
+            case CATEGORY -> state.taskService.searchAndFilter(null, null, null, null, "Finance");
+            case TEXT_AND_STATUS -> state.taskService.searchAndFilter("invoice", TaskStatus.IN_PROGRESS, null, null, null);
+            case ALL -> state.taskService.searchAndFilter("invoice", TaskStatus.IN_PROGRESS, START_DATE, END_DATE, "Finance");
+        };
+    }
+}
@@ -0,0 +1,104 @@
+package com.taskio.benchmark;
+
+import com.taskio.model.Task;
+import com.taskio.model.TaskStatus;
+import com.taskio.service.TaskColumnStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Filter scan over the columnar mirror versus the same filter over a list of {@code Task}
+ * entities, without the database. Setup prints the heap taken by each representation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class TaskColumnStoreBenchmark {
+
+    public enum FilterShape {
+        STATUS, DATE_RANGE, CATEGORY, ALL
+    }
+
+    private static final LocalDate START_DATE = TaskDatasetState.BASE_DATE.minusDays(30);
+    private static final LocalDate END_DATE = TaskDatasetState.BASE_DATE.plusDays(30);
+
+    @Param({"100000", "1000000"})
+    public int datasetSize;
+
+    @Param
+    public FilterShape filter;
+
+    private TaskColumnStore columnStore;
+    private List<Task> tasks;
+    private TaskStatus status;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private String category;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        Random random = new Random(42);
+        long before = usedHeap(memory);
+        tasks = new ArrayList<>(datasetSize);
+        for (int i = 0; i < datasetSize; i++) {
+            Task task = TaskDatasetState.generateTask(random);
+            task.setId((long) i + 1);
+            task.setVersion(0L);
+            tasks.add(task);
+        }
+        long entityBytes = usedHeap(memory) - before;
+        columnStore = new TaskColumnStore();
+        columnStore.putAll(tasks);
+        System.out.printf("%n%d tasks: entities ~%d MB on the heap, column store ~%d MB%n", datasetSize,
+                entityBytes >> 20, columnStore.estimatedSizeBytes() >> 20);
+
+        status = filter == FilterShape.STATUS || filter == FilterShape.ALL ? TaskStatus.IN_PROGRESS : null;
+        boolean dated = filter == FilterShape.DATE_RANGE || filter == FilterShape.ALL;
+        startDate = dated ? START_DATE : null;
+        endDate = dated ? END_DATE : null;
+        category = filter == FilterShape.CATEGORY || filter == FilterShape.ALL ? "Finance" : null;
+    }
+
+    @Benchmark
+    public long[] columnScan() {
+        return columnStore.matchingIds(status, startDate, endDate, category, 0L, Integer.MAX_VALUE);
+    }
+
+    @Benchmark
+    public long[] entityScan() {
+        return tasks.stream()
+                .filter(task -> status == null || task.getStatus() == status)
+                .filter(task -> startDate == null || (task.getDueDate() != null && !task.getDueDate().isBefore(startDate)))
+                .filter(task -> endDate == null || (task.getDueDate() != null && !task.getDueDate().isAfter(endDate)))
+                .filter(task -> category == null || category.equals(task.getCategory()))
+                .mapToLong(Task::getId)
+                .toArray();
+    }
+
+    private static long usedHeap(MemoryMXBean memory) {
+        System.gc();
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+}
@@ -0,0 +1,107 @@
+package com.taskio.benchmark;
+
+import com.taskio.TaskioApplication;
+import com.taskio.model.Task;
+import com.taskio.model.TaskStatus;
+import com.taskio.repository.TaskRepository;
+import com.taskio.service.TaskService;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Starts the application without a web server against a fresh in-memory H2 database and seeds it
+ * with {@code datasetSize} generated tasks. The data is deterministic, so runs of different
+ * releases measure the same dataset.
+ */
+@State(Scope.Benchmark)
+public class TaskDatasetState {
+
+    static final LocalDate BASE_DATE = LocalDate.of(2026, 1, 1);
+
+    private static final String[] WORDS = {
+        "report", "review", "deploy", "meeting", "invoice", "design", "release", "backup",
+        "migration", "customer", "budget", "roadmap", "onboarding", "security", "audit", "dashboard"
+    };
+    private static final String[] CATEGORIES = {
+        "Work", "Personal", "Finance", "Health", "Travel", "Shopping", "Learning", "Home",
+        "Development", "Operations", "Marketing", "Sales", "Support", "Legal", "Hiring", "Research"
+    };
+
+    @Param({"1000", "100000", "1000000"})
+    public int datasetSize;
+
+    // Compare with -p columnStore=false,true
+    @Param({"false"})
+    public boolean columnStore;
+
+    public ConfigurableApplicationContext context;
+    public TaskService taskService;
+    public TaskRepository taskRepository;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(TaskioApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.main.banner-mode=off",
+                        "spring.datasource.url=jdbc:h2:mem:taskio-bench;DB_CLOSE_DELAY=-1",
+                        "spring.jpa.show-sql=false",
+                        "logging.level.root=WARN",
+                        "taskio.column-store.enabled=" + columnStore)
+                .run();
+        taskService = context.getBean(TaskService.class);
+        taskRepository = context.getBean(TaskRepository.class);
+        seed();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    private void seed() {
+        Random random = new Random(42);
+        List<Task> batch = new ArrayList<>(TaskService.MAX_BATCH_SIZE);
+        for (int i = 0; i < datasetSize; i++) {
+            batch.add(generateTask(random));
+            if (batch.size() == TaskService.MAX_BATCH_SIZE) {
+                taskService.createTasks(batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            taskService.createTasks(batch);
+        }
+    }
+
+    static Task generateTask(Random random) {
+        Task task = new Task();
+        task.setTitle(word(random) + " " + word(random) + " " + random.nextInt(10_000));
+        task.setDescription("Follow up on the " + word(random) + " and " + word(random) + " items");
+        task.setStatus(TaskStatus.values()[random.nextInt(TaskStatus.values().length)]);
+        // One in ten tasks has no due date or no category
+        if (random.nextInt(10) != 0) {
+            task.setDueDate(BASE_DATE.plusDays(random.nextInt(365) - 180));
+        }
+        if (random.nextInt(10) != 0) {
+            task.setCategory(CATEGORIES[random.nextInt(CATEGORIES.length)]);
+        }
+        return task;
+    }
+
+    private static String word(Random random) {
+        return WORDS[random.nextInt(WORDS.length)];
+    }
+}
@@ -0,0 +1,51 @@
+package com.taskio.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.taskio.dto.TaskView;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Serializes the task list with the application's ObjectMapper, as the /api/tasks response does
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class TaskSerializationBenchmark {
+
+    private List<TaskView> tasks;
+    private ObjectWriter writer;
+
+    @Setup(Level.Trial)
+    public void setUp(TaskDatasetState state) {
+        tasks = state.taskService.getAllTasks();
+        writer = state.context.getBean(ObjectMapper.class).writerFor(new TypeReference<List<TaskView>>() {});
+    }
+
+    @Benchmark
+    public void serializeTaskList() throws IOException {
+        writer.writeValue(OutputStream.nullOutputStream(), tasks);
+    }
+
+    @Benchmark
+    public byte[] serializeTaskListToBytes() throws IOException {
+        return writer.writeValueAsBytes(tasks);
+    }
+}
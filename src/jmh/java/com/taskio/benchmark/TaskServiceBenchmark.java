@@ -0,0 +1,36 @@
+package com.taskio.benchmark;
+
+import com.taskio.dto.TaskView;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class TaskServiceBenchmark {
+
+    @Benchmark
+    public List<TaskView> getAllTasks(TaskDatasetState state) {
+        return state.taskService.getAllTasks();
+    }
+
+    @Benchmark
+    public List<String> getAllCategories(TaskDatasetState state) {
+        return state.taskService.getAllCategories();
+    }
+
+    @Benchmark
+    public List<String> findDistinctCategories(TaskDatasetState state) {
+        return state.taskRepository.findDistinctCategories();
+    }
+}
@@ -0,0 +1,45 @@
+package com.taskio.loadtest;
+
+import java.util.Arrays;
+
+// Keeps every latency sample of one endpoint, so percentiles are exact rather than bucketed
+class LatencyRecorder {
+
+    private long[] samples = new long[1024];
+    private int count;
+    private long errors;
+
+    synchronized void record(long latencyNanos, boolean success) {
+        if (count == samples.length) {
+            samples = Arrays.copyOf(samples, count * 2);
+        }
+        samples[count++] = latencyNanos;
+        if (!success) {
+            errors++;
+        }
+    }
+
+    synchronized Summary summarize(double seconds) {
+        long[] sorted = Arrays.copyOf(samples, count);
+        Arrays.sort(sorted);
+        return new Summary(count, errors, count / seconds,
+                millis(percentile(sorted, 0.50)), millis(percentile(sorted, 0.99)),
+                millis(percentile(sorted, 0.999)), millis(count == 0 ? 0 : sorted[count - 1]));
+    }
+
+    private static long percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, index)];
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    record Summary(long requests, long errors, double throughput, double p50Millis, double p99Millis,
+                   double p999Millis, double maxMillis) {
+    }
+}
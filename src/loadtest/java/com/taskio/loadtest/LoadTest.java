@@ -0,0 +1,251 @@
+package com.taskio.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskio.TaskioApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-loop HTTP load test. Starts the application on a random port with a fresh in-memory
+ * database (or targets {@code --url}), seeds it through the batch endpoint, then starts requests
+ * at a fixed rate regardless of how fast responses come back. Latency is measured from the time
+ * a request was due to start, so a stalled server shows up in the percentiles instead of
+ * silently lowering the request rate.
+ *
+ * <p>Run with {@code mvn -Ploadtest test-compile exec:exec -Dloadtest.args="--tasks=100000 --rate=500"}.
+ */
+public class LoadTest {
+
+    private static final int SEED_BATCH_SIZE = 1000;
+    private static final int SEED_CONCURRENCY = 4;
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final LoadTestOptions options;
+    private final URI baseUrl;
+    private final HttpClient client;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final TaskGenerator generator;
+    private final Random random;
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+    private long[] ids;
+
+    LoadTest(LoadTestOptions options, URI baseUrl) {
+        this.options = options;
+        this.baseUrl = baseUrl;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        this.generator = new TaskGenerator(options.seed());
+        this.random = new Random(options.seed());
+        this.operations = options.mix().keySet().toArray(Operation[]::new);
+        this.cumulativeWeights = new int[operations.length];
+        int total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total += options.mix().get(operations[i]);
+            cumulativeWeights[i] = total;
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        ConfigurableApplicationContext context = options.url() == null ? startApplication(options) : null;
+        try {
+            URI baseUrl = context != null
+                    ? URI.create("http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort())
+                    : options.url();
+            new LoadTest(options, baseUrl).run();
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext startApplication(LoadTestOptions options) {
+        return new SpringApplicationBuilder(TaskioApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.main.banner-mode=off",
+                        "spring.datasource.url=jdbc:h2:mem:taskio-loadtest;DB_CLOSE_DELAY=-1",
+                        "spring.jpa.show-sql=false",
+                        "logging.level.root=WARN")
+                .properties(options.applicationProperties().toArray(String[]::new))
+                .run();
+    }
+
+    void run() throws Exception {
+        System.out.printf("Seeding %d tasks into %s%n", options.tasks(), baseUrl);
+        long seedStart = System.nanoTime();
+        ids = seed();
+        System.out.printf("Seeded %d tasks in %.1fs%n", ids.length, (System.nanoTime() - seedStart) / 1e9);
+
+        System.out.printf("Warming up for %ss at %d requests/s%n", options.warmup().toSeconds(), options.rate());
+        drive(options.warmup(), null);
+
+        Map<Operation, LatencyRecorder> recorders = new EnumMap<>(Operation.class);
+        for (Operation operation : operations) {
+            recorders.put(operation, new LatencyRecorder());
+        }
+        System.out.printf("Measuring for %ss at %d requests/s%n", options.duration().toSeconds(), options.rate());
+        drive(options.duration(), recorders);
+
+        report(recorders);
+    }
+
+    // Seeds through POST /api/tasks/batch, a few batches at a time, and returns the created ids
+    private long[] seed() throws IOException {
+        List<Long> created = new ArrayList<>(options.tasks());
+        int remaining = options.tasks();
+        while (remaining > 0) {
+            List<CompletableFuture<HttpResponse<String>>> window = new ArrayList<>();
+            for (int i = 0; i < SEED_CONCURRENCY && remaining > 0; i++) {
+                int size = Math.min(SEED_BATCH_SIZE, remaining);
+                remaining -= size;
+                List<Map<String, Object>> batch = new ArrayList<>(size);
+                for (int j = 0; j < size; j++) {
+                    batch.add(generator.nextTask());
+                }
+                window.add(client.sendAsync(jsonRequest("/api/tasks/batch", "POST", "application/json", batch),
+                        HttpResponse.BodyHandlers.ofString()));
+            }
+            for (CompletableFuture<HttpResponse<String>> response : window) {
+                HttpResponse<String> result = response.join();
+                if (result.statusCode() != 200) {
+                    throw new IllegalStateException("Seeding failed with HTTP " + result.statusCode() + ": "
+                            + result.body());
+                }
+                for (JsonNode item : objectMapper.readTree(result.body())) {
+                    if (item.path("status").asInt() == 201) {
+                        created.add(item.path("id").asLong());
+                    }
+                }
+            }
+        }
+        return created.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private void drive(Duration duration, Map<Operation, LatencyRecorder> recorders) throws InterruptedException {
+        long interval = TimeUnit.SECONDS.toNanos(1) / options.rate();
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        AtomicLong outstanding = new AtomicLong();
+        for (long due = start; due < end; due += interval) {
+            long wait = due - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            Operation operation = nextOperation();
+            long dueAt = due;
+            outstanding.incrementAndGet();
+            client.sendAsync(request(operation), HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> {
+                        if (recorders != null) {
+                            boolean success = error == null && response.statusCode() < 400;
+                            recorders.get(operation).record(System.nanoTime() - dueAt, success);
+                        }
+                        outstanding.decrementAndGet();
+                    });
+        }
+        long deadline = System.nanoTime() + REQUEST_TIMEOUT.toNanos();
+        while (outstanding.get() > 0 && System.nanoTime() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+    }
+
+    private Operation nextOperation() {
+        int roll = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (roll < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+
+    private HttpRequest request(Operation operation) {
+        return switch (operation) {
+            case GET -> get("/api/tasks/" + randomId());
+            case PAGE -> get("/api/tasks?limit=50");
+            case SEARCH -> get("/api/tasks/search?limit=50&q="
+                    + URLEncoder.encode(generator.nextSearchTerm(), StandardCharsets.UTF_8)
+                    + (random.nextBoolean() ? "&status=" + generator.nextStatus() : ""));
+            case CREATE -> jsonRequest("/api/tasks", "POST", "application/json", generator.nextTask());
+            case PATCH -> jsonRequest("/api/tasks/" + randomId(), "PATCH", "application/merge-patch+json",
+                    Map.of("status", generator.nextStatus()));
+        };
+    }
+
+    private long randomId() {
+        return ids[random.nextInt(ids.length)];
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(baseUrl.resolve(path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+    }
+
+    private HttpRequest jsonRequest(String path, String method, String contentType, Object body) {
+        try {
+            return HttpRequest.newBuilder(baseUrl.resolve(path))
+                    .timeout(REQUEST_TIMEOUT)
+                    .header("Content-Type", contentType)
+                    .method(method, HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                    .build();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void report(Map<Operation, LatencyRecorder> recorders) throws IOException {
+        double seconds = options.duration().toNanos() / 1e9;
+        Map<String, LatencyRecorder.Summary> summaries = new LinkedHashMap<>();
+        System.out.printf("%n%-26s %9s %7s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms");
+        for (Map.Entry<Operation, LatencyRecorder> entry : recorders.entrySet()) {
+            LatencyRecorder.Summary summary = entry.getValue().summarize(seconds);
+            summaries.put(entry.getKey().endpoint(), summary);
+            System.out.printf("%-26s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n", entry.getKey().endpoint(),
+                    summary.requests(), summary.errors(), summary.throughput(), summary.p50Millis(),
+                    summary.p99Millis(), summary.p999Millis(), summary.maxMillis());
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("tasks", ids.length);
+        result.put("rate", options.rate());
+        result.put("durationSeconds", seconds);
+        result.put("mix", options.mix());
+        result.put("seed", options.seed());
+        result.put("applicationProperties", options.applicationProperties());
+        result.put("endpoints", summaries);
+        Files.createDirectories(options.output().toAbsolutePath().getParent());
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(options.output().toFile(), result);
+        System.out.printf("%nResults written to %s%n", options.output());
+    }
+}
@@ -0,0 +1,97 @@
+package com.taskio.loadtest;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Command line options, all given as {@code --name=value}. Any other {@code --key=value}
+ * argument is passed to the started application as a Spring property, e.g.
+ * {@code --spring.threads.virtual.enabled=true}.
+ */
+record LoadTestOptions(
+        int tasks,
+        int rate,
+        Duration warmup,
+        Duration duration,
+        Map<Operation, Integer> mix,
+        long seed,
+        URI url,
+        Path output,
+        List<String> applicationProperties
+) {
+
+    static final String USAGE = """
+            Options:
+              --tasks=10000        tasks to seed before the run (10k-1M)
+              --rate=200           requests started per second, independent of response times
+              --warmup=10s         run the workload this long before measuring
+              --duration=60s       measured run length
+              --mix=get:40,page:15,search:25,create:10,patch:10
+                                   relative weight of each operation
+              --seed=42            seed for the generated data and the request sequence
+              --url=http://host:port
+                                   test an already running server instead of starting one
+              --output=target/loadtest-result.json
+              --<spring.property>=<value>
+                                   set a property of the started application""";
+
+    static LoadTestOptions parse(String[] args) {
+        int tasks = 10_000;
+        int rate = 200;
+        Duration warmup = Duration.ofSeconds(10);
+        Duration duration = Duration.ofSeconds(60);
+        Map<Operation, Integer> mix = parseMix("get:40,page:15,search:25,create:10,patch:10");
+        long seed = 42;
+        URI url = null;
+        Path output = Path.of("target", "loadtest-result.json");
+        List<String> applicationProperties = new ArrayList<>();
+
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got '" + arg + "'\n" + USAGE);
+            }
+            String name = arg.substring(2, arg.indexOf('='));
+            String value = arg.substring(arg.indexOf('=') + 1);
+            switch (name) {
+                case "tasks" -> tasks = Integer.parseInt(value);
+                case "rate" -> rate = Integer.parseInt(value);
+                case "warmup" -> warmup = DurationStyle.detectAndParse(value);
+                case "duration" -> duration = DurationStyle.detectAndParse(value);
+                case "mix" -> mix = parseMix(value);
+                case "seed" -> seed = Long.parseLong(value);
+                case "url" -> url = URI.create(value);
+                case "output" -> output = Path.of(value);
+                default -> applicationProperties.add(name + "=" + value);
+            }
+        }
+        if (tasks < 1 || rate < 1) {
+            throw new IllegalArgumentException("--tasks and --rate must be positive\n" + USAGE);
+        }
+        return new LoadTestOptions(tasks, rate, warmup, duration, mix, seed, url, output, applicationProperties);
+    }
+
+    private static Map<Operation, Integer> parseMix(String value) {
+        Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+        for (String entry : value.split(",")) {
+            String[] parts = entry.split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid --mix entry '" + entry + "'\n" + USAGE);
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight > 0) {
+                mix.put(Operation.fromName(parts[0].trim()), weight);
+            }
+        }
+        if (mix.isEmpty()) {
+            throw new IllegalArgumentException("--mix needs at least one operation with a positive weight");
+        }
+        return mix;
+    }
+}
@@ -0,0 +1,33 @@
+package com.taskio.loadtest;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+// Requests the workload mixes, reported per endpoint
+enum Operation {
+    GET("get", "GET /api/tasks/{id}"),
+    PAGE("page", "GET /api/tasks?limit=50"),
+    SEARCH("search", "GET /api/tasks/search"),
+    CREATE("create", "POST /api/tasks"),
+    PATCH("patch", "PATCH /api/tasks/{id}");
+
+    private final String optionName;
+    private final String endpoint;
+
+    Operation(String optionName, String endpoint) {
+        this.optionName = optionName;
+        this.endpoint = endpoint;
+    }
+
+    String endpoint() {
+        return endpoint;
+    }
+
+    static Operation fromName(String name) {
+        return Arrays.stream(values())
+                .filter(operation -> operation.optionName.equals(name))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown operation '" + name + "', expected one of "
+                        + Arrays.stream(values()).map(operation -> operation.optionName).collect(Collectors.joining(", "))));
+    }
+}
@@ -0,0 +1,173 @@
+package com.taskio.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.convert.DurationStyle;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures time to first request of a container image: starts it with {@code docker run}, polls
+ * the readiness probe until it reports up, then sends one API request the way the first client
+ * would. Repeats for a number of runs and reports the median, so the baseline and fast-start
+ * images can be compared on the same machine and with the same resource limits.
+ *
+ * <p>Run with {@code mvn -Ploadtest test-compile exec:exec -Dloadtest.main=com.taskio.loadtest.StartupTimer
+ * -Dloadtest.args="--image=taskio-backend"}.
+ */
+public class StartupTimer {
+
+    static final String USAGE = """
+            Options:
+              --image=taskio-backend
+                                   image to start
+              --runs=5             containers started one after another
+              --port=8080          host port the container's 8080 is published on
+              --docker-args=--cpus=0.5,--memory=512m
+                                   extra docker run arguments, comma separated
+              --path=/api/tasks?limit=50
+                                   first request sent once the readiness probe is up
+              --timeout=120s       give up on a run after this long
+              --output=target/startup-result.json""";
+
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(20);
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(1))
+            .build();
+
+    private String image = "taskio-backend";
+    private int runs = 5;
+    private int port = 8080;
+    private List<String> dockerArgs = List.of();
+    private String path = "/api/tasks?limit=50";
+    private Duration timeout = Duration.ofSeconds(120);
+    private Path output = Path.of("target", "startup-result.json");
+
+    public static void main(String[] args) throws Exception {
+        StartupTimer timer = new StartupTimer();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got '" + arg + "'\n" + USAGE);
+            }
+            String name = arg.substring(2, arg.indexOf('='));
+            String value = arg.substring(arg.indexOf('=') + 1);
+            switch (name) {
+                case "image" -> timer.image = value;
+                case "runs" -> timer.runs = Integer.parseInt(value);
+                case "port" -> timer.port = Integer.parseInt(value);
+                case "docker-args" -> timer.dockerArgs = value.isEmpty() ? List.of() : List.of(value.split(","));
+                case "path" -> timer.path = value;
+                case "timeout" -> timer.timeout = DurationStyle.detectAndParse(value);
+                case "output" -> timer.output = Path.of(value);
+                default -> throw new IllegalArgumentException("Unknown option --" + name + "\n" + USAGE);
+            }
+        }
+        if (timer.runs < 1) {
+            throw new IllegalArgumentException("--runs must be positive\n" + USAGE);
+        }
+        timer.run();
+    }
+
+    void run() throws Exception {
+        long[] ready = new long[runs];
+        long[] firstRequest = new long[runs];
+        long[] total = new long[runs];
+        System.out.printf("Starting %s %d times%n%n%-5s %12s %18s %14s%n", image, runs,
+                "run", "ready ms", "first request ms", "total ms");
+        for (int run = 0; run < runs; run++) {
+            long[] result = measure("taskio-startup-" + ProcessHandle.current().pid() + "-" + run);
+            ready[run] = result[0];
+            firstRequest[run] = result[1];
+            total[run] = result[0] + result[1];
+            System.out.printf("%-5d %12d %18d %14d%n", run + 1, ready[run], firstRequest[run], total[run]);
+        }
+        System.out.printf("%-5s %12d %18d %14d%n", "p50", median(ready), median(firstRequest), median(total));
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("image", image);
+        result.put("dockerArgs", dockerArgs);
+        result.put("path", path);
+        result.put("readyMillis", ready);
+        result.put("firstRequestMillis", firstRequest);
+        result.put("timeToFirstRequestMillis", total);
+        result.put("medianTimeToFirstRequestMillis", median(total));
+        Files.createDirectories(output.toAbsolutePath().getParent());
+        new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(output.toFile(), result);
+        System.out.printf("%nResults written to %s%n", output);
+    }
+
+    // Milliseconds from docker run until the readiness probe is up, and of the first request after it
+    private long[] measure(String container) throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>(List.of("docker", "run", "--rm", "--name", container,
+                "-p", port + ":8080"));
+        command.addAll(dockerArgs);
+        command.add(image);
+        URI readiness = URI.create("http://localhost:" + port + "/actuator/health/readiness");
+        URI first = URI.create("http://localhost:" + port + path);
+
+        long started = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        try {
+            long deadline = started + timeout.toNanos();
+            while (!isUp(readiness)) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("Container exited with code " + process.exitValue());
+                }
+                if (System.nanoTime() > deadline) {
+                    throw new IllegalStateException("Not ready after " + timeout);
+                }
+                Thread.sleep(POLL_INTERVAL.toMillis());
+            }
+            long ready = System.nanoTime();
+            HttpResponse<byte[]> response = client.send(HttpRequest.newBuilder(first).timeout(timeout).build(),
+                    HttpResponse.BodyHandlers.ofByteArray());
+            long answered = System.nanoTime();
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("GET " + first + " returned " + response.statusCode());
+            }
+            return new long[]{TimeUnit.NANOSECONDS.toMillis(ready - started),
+                    TimeUnit.NANOSECONDS.toMillis(answered - ready)};
+        } finally {
+            new ProcessBuilder("docker", "rm", "-f", container)
+                    .redirectErrorStream(true)
+                    .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                    .start()
+                    .waitFor();
+            process.waitFor(30, TimeUnit.SECONDS);
+        }
+    }
+
+    private boolean isUp(URI readiness) throws InterruptedException {
+        try {
+            HttpResponse<Void> response = client.send(HttpRequest.newBuilder(readiness)
+                    .timeout(Duration.ofSeconds(1)).build(), HttpResponse.BodyHandlers.discarding());
+            return response.statusCode() == 200;
+        } catch (IOException e) {
+            // Refused, timed out, or reset: Docker accepts on the published port before the application listens
+            return false;
+        }
+    }
+
+    private static long median(long[] values) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+}
@@ -0,0 +1,124 @@
+package com.taskio.loadtest;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Generates task request bodies that look like real data: a few categories hold most tasks,
+ * most tasks are still open, due dates cluster around today with a long tail, and some fields
+ * are left empty. The same seed always yields the same sequence.
+ */
+class TaskGenerator {
+
+    static final String[] STATUSES = {"TODO", "IN_PROGRESS", "DONE"};
+
+    private static final String[] VERBS = {
+        "Review", "Update", "Fix", "Prepare", "Deploy", "Write", "Plan", "Test", "Refactor", "Call",
+        "Schedule", "Document", "Investigate", "Migrate", "Order", "Renew", "Clean up", "Follow up on"
+    };
+    private static final String[] SUBJECTS = {
+        "quarterly report", "login page", "invoice batch", "release notes", "database backup", "team meeting",
+        "customer feedback", "budget forecast", "onboarding checklist", "security audit", "roadmap",
+        "dashboard", "API documentation", "payment gateway", "insurance policy", "dentist appointment",
+        "flight tickets", "hiring pipeline", "marketing campaign", "support tickets", "load balancer",
+        "expense claims", "contract renewal", "grocery list"
+    };
+    private static final String[] DETAILS = {
+        "Check the numbers against last month.", "Ask the team for input before Friday.",
+        "Blocked until the vendor replies.", "Keep the change small and reversible.",
+        "Make sure the staging environment is up to date.", "Share the result in the weekly sync.",
+        "Include screenshots of the current state.", "Coordinate with finance on the totals.",
+        "Split into smaller tasks if it grows.", "Low priority, but do not let it slip again."
+    };
+    // Ordered by popularity; weights fall off as 1/rank
+    private static final String[] CATEGORIES = {
+        "Work", "Personal", "Development", "Finance", "Operations", "Shopping", "Health", "Home",
+        "Marketing", "Support", "Travel", "Learning", "Sales", "Legal", "Hiring", "Research"
+    };
+    private static final double[] CATEGORY_CUMULATIVE_WEIGHTS = cumulativeZipfWeights(CATEGORIES.length);
+
+    private final Random random;
+    private final LocalDate today = LocalDate.now();
+
+    TaskGenerator(long seed) {
+        this.random = new Random(seed);
+    }
+
+    Map<String, Object> nextTask() {
+        Map<String, Object> task = new LinkedHashMap<>();
+        task.put("title", nextTitle());
+        task.put("description", nextDescription());
+        task.put("status", nextStatus());
+        task.put("dueDate", nextDueDate());
+        task.put("category", nextCategory());
+        return task;
+    }
+
+    String nextSearchTerm() {
+        String subject = SUBJECTS[random.nextInt(SUBJECTS.length)];
+        return subject.split(" ")[0];
+    }
+
+    String nextStatus() {
+        // Most tasks are open: 45% to do, 20% in progress, 35% done
+        int roll = random.nextInt(100);
+        return roll < 45 ? STATUSES[0] : roll < 65 ? STATUSES[1] : STATUSES[2];
+    }
+
+    private String nextTitle() {
+        String title = VERBS[random.nextInt(VERBS.length)] + " " + SUBJECTS[random.nextInt(SUBJECTS.length)];
+        return random.nextInt(4) == 0 ? title + " #" + (1 + random.nextInt(500)) : title;
+    }
+
+    private String nextDescription() {
+        int sentences = random.nextInt(5) - 1;
+        if (sentences <= 0) {
+            return null;
+        }
+        StringBuilder description = new StringBuilder();
+        for (int i = 0; i < sentences; i++) {
+            if (i > 0) {
+                description.append(' ');
+            }
+            description.append(DETAILS[random.nextInt(DETAILS.length)]);
+        }
+        return description.toString();
+    }
+
+    private String nextDueDate() {
+        if (random.nextInt(100) < 15) {
+            return null;
+        }
+        // Centred a week ahead, two-thirds within a month either side, some far overdue or far out
+        long offset = Math.round(7 + random.nextGaussian() * 30);
+        return today.plusDays(Math.max(-365, Math.min(365, offset))).toString();
+    }
+
+    private String nextCategory() {
+        if (random.nextInt(100) < 10) {
+            return null;
+        }
+        double roll = random.nextDouble();
+        for (int i = 0; i < CATEGORY_CUMULATIVE_WEIGHTS.length; i++) {
+            if (roll < CATEGORY_CUMULATIVE_WEIGHTS[i]) {
+                return CATEGORIES[i];
+            }
+        }
+        return CATEGORIES[CATEGORIES.length - 1];
+    }
+
+    private static double[] cumulativeZipfWeights(int count) {
+        double[] weights = new double[count];
+        double total = 0;
+        for (int i = 0; i < count; i++) {
+            total += 1.0 / (i + 1);
+            weights[i] = total;
+        }
+        for (int i = 0; i < count; i++) {
+            weights[i] /= total;
+        }
+        return weights;
+    }
+}
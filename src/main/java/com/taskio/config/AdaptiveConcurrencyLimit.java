@@ -0,0 +1,112 @@
+package com.taskio.config;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Concurrency limit that adapts to observed latency, after TCP Vegas. The lowest latency seen
+ * recently stands in for the no-load latency, and {@code limit * (1 - noLoad / latency)} estimates
+ * how many of the requests in flight are queueing rather than being served. While that estimate
+ * stays below {@code alpha} the limit grows by one, above {@code beta} it shrinks by one. A dropped
+ * request (the server gave up on it) cuts the limit multiplicatively, as in AIMD.
+ * <p>
+ * The no-load latency is kept per route, as the routes sharing a limit can differ in cost by orders
+ * of magnitude: compared against the fastest route's latency, every sample of a slow route would
+ * look like queueing and ratchet the limit down. Callers pass a route key of bounded cardinality.
+ * <p>
+ * The limit only grows while at least half of it is in use, so an idle period does not leave a
+ * limit that was never tested. A route's no-load latency is re-measured every {@code PROBE_INTERVAL}
+ * samples of that route, so it can follow the workload up after it gets slower for good.
+ */
+public class AdaptiveConcurrencyLimit {
+
+    static final int ALPHA = 3;
+    static final int BETA = 6;
+    static final double BACKOFF_RATIO = 0.9;
+    static final int PROBE_INTERVAL = 1000;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile int limit;
+
+    // Guarded by this
+    private final Map<String, Route> routes = new HashMap<>();
+
+    public AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit) {
+        if (minLimit < 1 || minLimit > maxLimit) {
+            throw new IllegalArgumentException("Expected 1 <= min-limit <= max-limit");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+
+    // Takes a slot if fewer requests than the limit are in flight; every acquired slot must be released
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    // Releases a slot and adjusts the limit to the latency of the request that held it
+    public void onSuccess(long latencyNanos) {
+        onSuccess("", latencyNanos);
+    }
+
+    // Same, measuring the latency against the no-load latency of the request's route
+    public void onSuccess(String route, long latencyNanos) {
+        int inFlightBefore = inFlight.getAndDecrement();
+        update(route, Math.max(1, latencyNanos), inFlightBefore);
+    }
+
+    // Releases a slot of a request the server could not complete in time, e.g. no database connection
+    public void onDropped() {
+        inFlight.decrementAndGet();
+        synchronized (this) {
+            limit = Math.max(minLimit, (int) (limit * BACKOFF_RATIO));
+        }
+    }
+
+    // Releases a slot without a sample, for requests whose latency says nothing about load
+    public void onIgnored() {
+        inFlight.decrementAndGet();
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private synchronized void update(String route, long latencyNanos, int inFlightBefore) {
+        Route baseline = routes.computeIfAbsent(route, key -> new Route());
+        if (++baseline.samplesSinceProbe >= PROBE_INTERVAL) {
+            baseline.samplesSinceProbe = 0;
+            baseline.noLoadNanos = latencyNanos;
+        }
+        baseline.noLoadNanos = Math.min(baseline.noLoadNanos, latencyNanos);
+
+        int current = limit;
+        int queued = (int) Math.ceil(current * (1 - (double) baseline.noLoadNanos / latencyNanos));
+        if (queued <= ALPHA && inFlightBefore * 2 >= current) {
+            limit = Math.min(maxLimit, current + 1);
+        } else if (queued >= BETA) {
+            limit = Math.max(minLimit, current - 1);
+        }
+    }
+
+    private static final class Route {
+        long noLoadNanos = Long.MAX_VALUE;
+        int samplesSinceProbe;
+    }
+}
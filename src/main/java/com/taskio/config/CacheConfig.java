@@ -0,0 +1,45 @@
+package com.taskio.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.time.Duration;
+
+// Caching advice runs outside the transaction advice, so evictions happen after the write has committed;
+// EvictionAwareCache then keeps a read that loaded the task before the commit from caching it afterwards
+@Configuration
+@EnableCaching(order = Ordered.LOWEST_PRECEDENCE - 1)
+public class CacheConfig {
+    
+    public static final String TASKS_CACHE = "tasks";
+    
+    @Value("${taskio.cache.tasks.max-size:10000}")
+    private long maxSize;
+    
+    @Value("${taskio.cache.tasks.ttl:10m}")
+    private Duration ttl;
+    
+    @Bean
+    public CacheManager cacheManager() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(TASKS_CACHE) {
+            @Override
+            protected org.springframework.cache.Cache adaptCaffeineCache(String name, Cache<Object, Object> cache) {
+                return new EvictionAwareCache((CaffeineCache) super.adaptCaffeineCache(name, cache));
+            }
+        };
+        cacheManager.setCaffeine(Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats());
+        cacheManager.setAllowNullValues(false);
+        return cacheManager;
+    }
+}
@@ -0,0 +1,183 @@
+package com.taskio.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Load shedding for the task API. Requests are split into endpoint classes, each with its own
+ * {@link AdaptiveConcurrencyLimit}: point reads by id, queries over many tasks (list, search,
+ * stats and the due-date views), and writes. A request over its class's limit is answered
+ * {@code 503} with {@code Retry-After} at once instead of queueing for a Tomcat thread or a
+ * database connection. When expensive queries slow down, their limit shrinks on its own latency
+ * and point reads keep their share of the connection pool. Within a class, each latency is compared
+ * with the no-load latency of its own route (method and handler pattern), so a fast route does not
+ * make a slower one in the same class look congested.
+ * <p>
+ * The change stream and export are long-lived by design and are not limited, nor are CORS
+ * preflights. Runs after the observation filter, so shed requests still show up in
+ * {@code http.server.requests} with status 503.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    enum EndpointClass {
+        POINT_READ, QUERY, WRITE;
+
+        String tag() {
+            return name().toLowerCase().replace('_', '-');
+        }
+    }
+
+    private static final String TASKS_PATH = "/api/tasks";
+
+    @Value("${taskio.concurrency-limit.enabled:false}")
+    private boolean enabled;
+
+    @Value("${taskio.concurrency-limit.initial-limit:20}")
+    private int initialLimit;
+
+    @Value("${taskio.concurrency-limit.min-limit:1}")
+    private int minLimit;
+
+    @Value("${taskio.concurrency-limit.max-limit:200}")
+    private int maxLimit;
+
+    @Value("${taskio.concurrency-limit.retry-after:1s}")
+    private Duration retryAfter;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ObjectProvider<MeterRegistry> meterRegistry;
+
+    private final Map<EndpointClass, AdaptiveConcurrencyLimit> limits = new EnumMap<>(EndpointClass.class);
+    private final Map<EndpointClass, Counter> rejections = new EnumMap<>(EndpointClass.class);
+
+    @PostConstruct
+    void start() {
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        for (EndpointClass endpointClass : EndpointClass.values()) {
+            AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(initialLimit, minLimit, maxLimit);
+            limits.put(endpointClass, limit);
+            if (registry != null) {
+                Gauge.builder("taskio.concurrency.limit", limit, AdaptiveConcurrencyLimit::getLimit)
+                        .description("Current concurrency limit of the endpoint class")
+                        .tag("class", endpointClass.tag())
+                        .register(registry);
+                Gauge.builder("taskio.concurrency.in-flight", limit, AdaptiveConcurrencyLimit::getInFlight)
+                        .description("Requests of the endpoint class being served")
+                        .tag("class", endpointClass.tag())
+                        .register(registry);
+                rejections.put(endpointClass, Counter.builder("taskio.concurrency.rejected")
+                        .description("Requests answered 503 because the endpoint class was at its limit")
+                        .tag("class", endpointClass.tag())
+                        .register(registry));
+            }
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || classify(request) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        EndpointClass endpointClass = classify(request);
+        AdaptiveConcurrencyLimit limit = limits.get(endpointClass);
+        if (!limit.tryAcquire()) {
+            reject(endpointClass, response);
+            return;
+        }
+        long started = System.nanoTime();
+        boolean completed = false;
+        try {
+            chain.doFilter(request, response);
+            completed = true;
+        } finally {
+            if (!completed || request.isAsyncStarted()) {
+                limit.onIgnored();
+            } else if (response.getStatus() == HttpStatus.SERVICE_UNAVAILABLE.value()) {
+                // The request waited out the connection pool timeout: a sign of overload, not a latency sample
+                limit.onDropped();
+            } else {
+                limit.onSuccess(route(request), System.nanoTime() - started);
+            }
+        }
+    }
+
+    AdaptiveConcurrencyLimit limit(EndpointClass endpointClass) {
+        return limits.get(endpointClass);
+    }
+
+    // Endpoint class of a task API request, or null for requests that are not limited
+    static EndpointClass classify(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (!path.equals(TASKS_PATH) && !path.startsWith(TASKS_PATH + "/")) {
+            return null;
+        }
+        String method = request.getMethod();
+        if (method.equals("OPTIONS")) {
+            return null;
+        }
+        if (!method.equals("GET") && !method.equals("HEAD")) {
+            return EndpointClass.WRITE;
+        }
+        String rest = path.length() > TASKS_PATH.length() + 1 ? path.substring(TASKS_PATH.length() + 1) : "";
+        return switch (rest) {
+            case "stream", "export" -> null;
+            case "", "search", "stats", "overdue", "due-soon" -> EndpointClass.QUERY;
+            // By id, plus the categories and cache statistics kept in memory
+            default -> EndpointClass.POINT_READ;
+        };
+    }
+
+    // Method and handler pattern, known once the request was dispatched; bounded by the number of mappings
+    static String route(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return request.getMethod() + " " + (pattern != null ? pattern : "unmatched");
+    }
+
+    private void reject(EndpointClass endpointClass, HttpServletResponse response) throws IOException {
+        Counter counter = rejections.get(endpointClass);
+        if (counter != null) {
+            counter.increment();
+        }
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("timestamp", LocalDateTime.now());
+        body.put("status", HttpStatus.SERVICE_UNAVAILABLE.value());
+        body.put("message", "Server is at capacity for this kind of request, please retry");
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, retryAfter.toSeconds())));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+}
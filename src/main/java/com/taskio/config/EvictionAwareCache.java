@@ -0,0 +1,107 @@
+package com.taskio.config;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caffeine cache that drops read-through puts which raced an eviction. A reader can miss, load the
+ * task, and be overtaken by a write that commits and evicts the key before the reader puts what it
+ * loaded; that stale copy would be served until it expires. Every eviction and clear advances a
+ * counter, a miss remembers the counter in a thread-local, and the put that follows the miss is
+ * dropped if the counter moved in between. Evictions and puts of a key run under the same entry
+ * lock, so an eviction is either seen by the put or removes what it stored.
+ * <p>
+ * The counter is shared by all keys: a write also drops the puts of misses on other tasks that
+ * were in flight at the time, and those are simply loaded again on their next read.
+ */
+public class EvictionAwareCache implements Cache {
+
+    private final CaffeineCache delegate;
+    private final ConcurrentMap<Object, Object> entries;
+    private final AtomicLong evictions = new AtomicLong();
+    private final ThreadLocal<Long> missedAt = new ThreadLocal<>();
+
+    public EvictionAwareCache(CaffeineCache delegate) {
+        this.delegate = delegate;
+        this.entries = delegate.getNativeCache().asMap();
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    // The lookup @Cacheable makes before calling the method on a miss
+    @Override
+    public ValueWrapper get(Object key) {
+        ValueWrapper value = delegate.get(key);
+        if (value == null) {
+            missedAt.set(evictions.get());
+        }
+        return value;
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        return delegate.get(key, type);
+    }
+
+    // Loads under the entry lock, so an eviction waits for the load and then removes its result
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        return delegate.get(key, valueLoader);
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        Long missed = missedAt.get();
+        missedAt.remove();
+        if (missed == null || value == null) {
+            delegate.put(key, value);
+            return;
+        }
+        entries.compute(key, (k, current) -> evictions.get() == missed ? value : current);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        return delegate.putIfAbsent(key, value);
+    }
+
+    @Override
+    public void evict(Object key) {
+        evictIfPresent(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean[] present = new boolean[1];
+        entries.compute(key, (k, current) -> {
+            evictions.incrementAndGet();
+            present[0] = current != null;
+            return null;
+        });
+        return present[0];
+    }
+
+    @Override
+    public void clear() {
+        evictions.incrementAndGet();
+        delegate.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        evictions.incrementAndGet();
+        return delegate.invalidate();
+    }
+}
@@ -0,0 +1,13 @@
+package com.taskio.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricsConfig {
+    
+    @Bean
+    public TaskFilterObservationConvention taskFilterObservationConvention() {
+        return new TaskFilterObservationConvention();
+    }
+}
@@ -0,0 +1,31 @@
+package com.taskio.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread, so {@link QueryCountInterceptor}
+ * can record how many queries each request ran. Registered through
+ * {@code hibernate.session_factory.statement_inspector}; the SQL itself is left unchanged.
+ */
+public class QueryCountStatementInspector implements StatementInspector {
+    
+    private static final ThreadLocal<int[]> COUNT = ThreadLocal.withInitial(() -> new int[1]);
+    
+    @Override
+    public String inspect(String sql) {
+        COUNT.get()[0]++;
+        return sql;
+    }
+    
+    static void reset() {
+        COUNT.get()[0] = 0;
+    }
+    
+    static int count() {
+        return COUNT.get()[0];
+    }
+    
+    static void clear() {
+        COUNT.remove();
+    }
+}
@@ -0,0 +1,139 @@
+package com.taskio.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sends requests through the task API before the application reports ready, so the first real
+ * requests do not pay for lazy initialization: the DispatcherServlet, Jackson serializers for
+ * each encoding, Hibernate query plans, validation and the exception handlers.
+ * <p>
+ * Runs on {@link ApplicationReadyEvent}, which Spring Boot publishes just before the readiness
+ * state changes to {@code ACCEPTING_TRAFFIC}, so {@code /actuator/health/readiness} stays down
+ * until warm-up is done. Requests go over HTTP to the local port to cover the whole servlet
+ * stack. Each iteration creates, reads, patches and deletes one task, so warm-up leaves no data
+ * behind but does advance the id sequence. A failed request is logged and never blocks startup.
+ */
+@Component
+public class StartupWarmup {
+
+    private static final Logger log = LoggerFactory.getLogger(StartupWarmup.class);
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(10);
+    private static final List<String> ENCODINGS = List.of("application/json", "application/cbor",
+            "application/x-jackson-smile");
+
+    @Value("${taskio.warmup.enabled:false}")
+    private boolean enabled;
+
+    @Value("${taskio.warmup.iterations:10}")
+    private int iterations;
+
+    @Value("${taskio.warmup.exit:false}")
+    private boolean exit;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp(ApplicationReadyEvent event) {
+        if (!enabled || !(event.getApplicationContext() instanceof WebServerApplicationContext context)) {
+            return;
+        }
+        URI baseUrl = URI.create("http://localhost:" + context.getWebServer().getPort() + "/api/tasks");
+        long started = System.nanoTime();
+        int failures = run(baseUrl);
+        log.info("Warm-up sent {} rounds of task API requests in {} ms ({} failed)", iterations,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started), failures);
+
+        // Used by the training run that records the AppCDS archive (see Dockerfile)
+        if (exit) {
+            System.exit(SpringApplication.exit(event.getApplicationContext()));
+        }
+    }
+
+    int run(URI baseUrl) {
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(REQUEST_TIMEOUT)
+                .build();
+        int failures = 0;
+        for (int i = 0; i < iterations; i++) {
+            try {
+                iteration(client, baseUrl);
+            } catch (IOException | RuntimeException e) {
+                log.warn("Warm-up request failed: {}", e.toString());
+                failures++;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return failures + 1;
+            }
+        }
+        return failures;
+    }
+
+    private void iteration(HttpClient client, URI baseUrl) throws IOException, InterruptedException {
+        String today = LocalDate.now().toString();
+        HttpResponse<byte[]> created = send(client, HttpRequest.newBuilder(baseUrl)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"title\":\"Warm-up\",\"description\":\"Startup warm-up\","
+                        + "\"status\":\"TODO\",\"dueDate\":\"" + today + "\",\"category\":\"Warm-up\"}")), 201);
+        long id = objectMapper.readTree(created.body()).get("id").asLong();
+        URI task = URI.create(baseUrl + "/" + id);
+        try {
+            for (String encoding : ENCODINGS) {
+                get(client, task, encoding);
+                get(client, URI.create(baseUrl + "?limit=50"), encoding);
+                get(client, URI.create(baseUrl + "/search?q=warm&status=TODO&startDate=" + today + "&endDate=" + today
+                        + "&category=Warm-up&limit=50"), encoding);
+                get(client, URI.create(baseUrl + "/overdue"), encoding);
+                get(client, URI.create(baseUrl + "/due-soon"), encoding);
+            }
+            get(client, URI.create(baseUrl + "/stats"), "application/json");
+            get(client, URI.create(baseUrl + "/categories"), "application/json");
+            send(client, HttpRequest.newBuilder(task)
+                    .header("Content-Type", "application/merge-patch+json")
+                    .method("PATCH", HttpRequest.BodyPublishers.ofString("{\"status\":\"IN_PROGRESS\"}")), 200);
+            // Validation failure and unknown id go through the exception handlers without writing
+            send(client, HttpRequest.newBuilder(baseUrl)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString("{\"title\":\"\"}")), 400);
+            send(client, HttpRequest.newBuilder(URI.create(baseUrl + "/0")).DELETE(), 404);
+        } finally {
+            send(client, HttpRequest.newBuilder(task).DELETE(), 204);
+        }
+    }
+
+    private static void get(HttpClient client, URI uri, String accept) throws IOException, InterruptedException {
+        send(client, HttpRequest.newBuilder(uri).header("Accept", accept).header("Accept-Encoding", "gzip"), 200);
+    }
+
+    private static HttpResponse<byte[]> send(HttpClient client, HttpRequest.Builder builder, int expectedStatus)
+            throws IOException, InterruptedException {
+        HttpRequest request = builder.timeout(REQUEST_TIMEOUT).build();
+        HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != expectedStatus) {
+            throw new IllegalStateException(request.method() + " " + request.uri() + " returned "
+                    + response.statusCode() + ", expected " + expectedStatus);
+        }
+        return response;
+    }
+}
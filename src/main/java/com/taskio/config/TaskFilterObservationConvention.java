@@ -0,0 +1,44 @@
+package com.taskio.config;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.common.KeyValues;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.util.StringUtils;
+
+import java.util.List;
+import java.util.StringJoiner;
+
+/**
+ * Adds a {@code filters} tag to {@code http.server.requests} naming which filters a search or stats
+ * request used, e.g. {@code q+status}. The value only depends on which parameters are present, so
+ * it stays low-cardinality. Every other request is tagged {@code none} so all series share the same
+ * tag keys.
+ */
+public class TaskFilterObservationConvention extends DefaultServerRequestObservationConvention {
+    
+    static final String FILTERS_TAG = "filters";
+    
+    private static final List<String> FILTERED_PATHS = List.of("/api/tasks/search", "/api/tasks/stats");
+    private static final List<String> FILTER_PARAMS = List.of("q", "status", "startDate", "endDate", "category");
+    
+    @Override
+    public KeyValues getLowCardinalityKeyValues(ServerRequestObservationContext context) {
+        return super.getLowCardinalityKeyValues(context).and(filters(context));
+    }
+    
+    private static KeyValue filters(ServerRequestObservationContext context) {
+        HttpServletRequest request = context.getCarrier();
+        if (request == null || !FILTERED_PATHS.contains(context.getPathPattern())) {
+            return KeyValue.of(FILTERS_TAG, "none");
+        }
+        StringJoiner shape = new StringJoiner("+");
+        for (String param : FILTER_PARAMS) {
+            if (StringUtils.hasText(request.getParameter(param))) {
+                shape.add(param);
+            }
+        }
+        return KeyValue.of(FILTERS_TAG, shape.length() == 0 ? "none" : shape.toString());
+    }
+}
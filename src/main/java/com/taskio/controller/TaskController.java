@@ -1,7 +1,16 @@
 package com.taskio.controller;
 
+import com.taskio.dto.BatchItemResult;
+import com.taskio.dto.CategoryCount;
+import com.taskio.dto.TaskChange;
+import com.taskio.dto.TaskCacheStats;
+import com.taskio.dto.TaskPage;
+import com.taskio.dto.TaskPatch;
+import com.taskio.dto.TaskStats;
+import com.taskio.dto.TaskView;
 import com.taskio.model.Task;
 import com.taskio.model.TaskStatus;
+import com.taskio.service.TaskChangeFeed;
 import com.taskio.service.TaskService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -13,12 +22,19 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/tasks")
@@ -26,28 +42,110 @@ import java.util.List;
 @Tag(name = "Task Management", description = "API endpoints for managing tasks")
 public class TaskController {
     
+    // List endpoints can also answer in a binary Jackson encoding when the client asks for it with Accept;
+    // JSON stays the default
+    static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+    
+    // Versions start at 0, so an unparseable If-Match never matches a task
+    private static final long NO_MATCHING_VERSION = -1L;
+    
     @Autowired
     private TaskService taskService;
     
-    @Operation(summary = "Get all tasks", description = "Retrieves a list of all tasks in the system")
+    @Autowired
+    private TaskChangeFeed changeFeed;
+    
+    @Operation(summary = "Get all tasks", 
+               description = "Retrieves a list of all tasks in the system. When 'ids' is given, returns only " +
+                       "the tasks with those IDs. When 'after' or 'limit' is given, returns a page of tasks " +
+                       "ordered by id together with a cursor for the next page")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Successfully retrieved tasks",
-                content = @Content(mediaType = "application/json", schema = @Schema(implementation = Task.class)))
+                content = {
+                    @Content(mediaType = "application/json", schema = @Schema(implementation = TaskView.class)),
+                    @Content(mediaType = "application/cbor", schema = @Schema(implementation = TaskView.class)),
+                    @Content(mediaType = APPLICATION_SMILE_VALUE, schema = @Schema(implementation = TaskView.class))
+                }),
+        @ApiResponse(responseCode = "304", description = "Tasks have not changed since the ETag in If-None-Match"),
+        @ApiResponse(responseCode = "400", description = "Invalid page cursor or too many IDs")
     })
-    @GetMapping
-    public ResponseEntity<List<Task>> getAllTasks() {
-        List<Task> tasks = taskService.getAllTasks();
-        return ResponseEntity.ok(tasks);
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, APPLICATION_SMILE_VALUE})
+    public ResponseEntity<?> getAllTasks(
+            @Parameter(description = "Comma-separated IDs of the tasks to retrieve (max 1000)")
+            @RequestParam(required = false) List<Long> ids,
+            @Parameter(description = "Cursor returned as 'nextCursor' by the previous page")
+            @RequestParam(required = false) String after,
+            @Parameter(description = "Maximum number of tasks per page (default 50, max 500)")
+            @RequestParam(required = false) Integer limit,
+            WebRequest request) {
+        if (request.checkNotModified(collectionETag())) {
+            return null;
+        }
+        if (ids != null) {
+            List<TaskView> tasks = taskService.getTasksByIds(ids);
+            return revalidated(tasks);
+        }
+        if (after == null && limit == null) {
+            List<TaskView> tasks = taskService.getAllTasks();
+            return revalidated(tasks);
+        }
+        TaskPage page = taskService.getTasksPage(after, limit);
+        return revalidated(page);
     }
     
     @Operation(summary = "Search and filter tasks", 
-               description = "Search tasks by query string and filter by status, date range, and category")
+               description = "Search tasks by query string and filter by status, date range, and category. " +
+                       "When 'after' or 'limit' is given, returns a page ordered by id with a cursor for the next page")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Successfully retrieved filtered tasks",
-                content = @Content(mediaType = "application/json", schema = @Schema(implementation = Task.class)))
+                content = {
+                    @Content(mediaType = "application/json", schema = @Schema(implementation = TaskView.class)),
+                    @Content(mediaType = "application/cbor", schema = @Schema(implementation = TaskView.class)),
+                    @Content(mediaType = APPLICATION_SMILE_VALUE, schema = @Schema(implementation = TaskView.class))
+                }),
+        @ApiResponse(responseCode = "304", description = "Tasks have not changed since the ETag in If-None-Match"),
+        @ApiResponse(responseCode = "400", description = "Invalid page cursor")
+    })
+    @GetMapping(value = "/search",
+                produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, APPLICATION_SMILE_VALUE})
+    public ResponseEntity<?> searchAndFilterTasks(
+            @Parameter(description = "Search query to match against task title and description")
+            @RequestParam(required = false) String q,
+            @Parameter(description = "Filter by task status")
+            @RequestParam(required = false) TaskStatus status,
+            @Parameter(description = "Filter tasks from this date onwards (ISO format: yyyy-MM-dd)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @Parameter(description = "Filter tasks up to this date (ISO format: yyyy-MM-dd)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @Parameter(description = "Filter by category name")
+            @RequestParam(required = false) String category,
+            @Parameter(description = "Cursor returned as 'nextCursor' by the previous page")
+            @RequestParam(required = false) String after,
+            @Parameter(description = "Maximum number of tasks per page (default 50, max 500)")
+            @RequestParam(required = false) Integer limit,
+            WebRequest request
+    ) {
+        if (request.checkNotModified(collectionETag())) {
+            return null;
+        }
+        if (after == null && limit == null) {
+            List<TaskView> tasks = taskService.searchAndFilter(q, status, startDate, endDate, category);
+            return revalidated(tasks);
+        }
+        TaskPage page = taskService.searchAndFilterPage(q, status, startDate, endDate, category, after, limit);
+        return revalidated(page);
+    }
+    
+    @Operation(summary = "Get task statistics", 
+               description = "Counts tasks per status and category and buckets open tasks by due date. " +
+                       "Accepts the same filters as the search endpoint")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully computed statistics",
+                content = @Content(mediaType = "application/json", schema = @Schema(implementation = TaskStats.class))),
+        @ApiResponse(responseCode = "304", description = "Tasks have not changed since the ETag in If-None-Match")
     })
-    @GetMapping("/search")
-    public ResponseEntity<List<Task>> searchAndFilterTasks(
+    @GetMapping("/stats")
+    public ResponseEntity<TaskStats> getStats(
             @Parameter(description = "Search query to match against task title and description")
             @RequestParam(required = false) String q,
             @Parameter(description = "Filter by task status")
@@ -57,36 +155,141 @@ public class TaskController {
             @Parameter(description = "Filter tasks up to this date (ISO format: yyyy-MM-dd)")
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
             @Parameter(description = "Filter by category name")
-            @RequestParam(required = false) String category
+            @RequestParam(required = false) String category,
+            WebRequest request
     ) {
-        List<Task> tasks = taskService.searchAndFilter(q, status, startDate, endDate, category);
-        return ResponseEntity.ok(tasks);
+        // The due-date buckets are relative to today
+        if (request.checkNotModified(datedCollectionETag())) {
+            return null;
+        }
+        TaskStats stats = taskService.getStats(q, status, startDate, endDate, category);
+        return revalidated(stats);
+    }
+    
+    @Operation(summary = "Export all tasks", 
+               description = "Streams every task as newline-delimited JSON (one task object per line)")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Tasks streamed successfully",
+                content = @Content(mediaType = "application/x-ndjson", schema = @Schema(implementation = Task.class)))
+    })
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportTasks() {
+        StreamingResponseBody body = taskService::exportTasks;
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"tasks.ndjson\"")
+                .body(body);
+    }
+    
+    @Operation(summary = "Stream task changes", 
+               description = "Server-Sent Events stream of committed changes: 'created', 'updated' and 'deleted' " +
+                       "events carrying a TaskChange. Comment heartbeats are sent while idle. Clients that fall " +
+                       "too far behind are disconnected and should reload the task list after reconnecting")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Event stream opened",
+                content = @Content(mediaType = MediaType.TEXT_EVENT_STREAM_VALUE,
+                        schema = @Schema(implementation = TaskChange.class)))
+    })
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges() {
+        return changeFeed.subscribe();
     }
     
-    @Operation(summary = "Get all categories", description = "Retrieves a list of all unique task categories")
+    @Operation(summary = "Get all categories", 
+               description = "Retrieves a sorted list of all unique task categories, optionally with the number " +
+                       "of tasks in each")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Successfully retrieved categories",
-                content = @Content(mediaType = "application/json"))
+                content = @Content(mediaType = "application/json")),
+        @ApiResponse(responseCode = "304", description = "Tasks have not changed since the ETag in If-None-Match")
     })
     @GetMapping("/categories")
-    public ResponseEntity<List<String>> getAllCategories() {
+    public ResponseEntity<?> getAllCategories(
+            @Parameter(description = "Return objects with the category name and its task count")
+            @RequestParam(defaultValue = "false") boolean withCounts,
+            WebRequest request) {
+        if (request.checkNotModified(collectionETag())) {
+            return null;
+        }
+        if (withCounts) {
+            List<CategoryCount> counts = taskService.getCategoryCounts();
+            return revalidated(counts);
+        }
         List<String> categories = taskService.getAllCategories();
-        return ResponseEntity.ok(categories);
+        return revalidated(categories);
+    }
+    
+    @Operation(summary = "Get overdue tasks", 
+               description = "Open tasks whose due date has passed, most overdue first")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved overdue tasks",
+                content = @Content(mediaType = "application/json", schema = @Schema(implementation = TaskView.class))),
+        @ApiResponse(responseCode = "304", description = "Tasks have not changed since the ETag in If-None-Match")
+    })
+    @GetMapping(value = "/overdue",
+                produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, APPLICATION_SMILE_VALUE})
+    public ResponseEntity<List<TaskView>> getOverdueTasks(
+            @Parameter(description = "Maximum number of tasks to return (default 50, max 500)")
+            @RequestParam(required = false) Integer limit,
+            WebRequest request) {
+        if (request.checkNotModified(datedCollectionETag())) {
+            return null;
+        }
+        return revalidated(taskService.getOverdueTasks(limit));
+    }
+    
+    @Operation(summary = "Get tasks due soon", 
+               description = "Open tasks due from today through the given number of days, earliest first")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved tasks due soon",
+                content = @Content(mediaType = "application/json", schema = @Schema(implementation = TaskView.class))),
+        @ApiResponse(responseCode = "304", description = "Tasks have not changed since the ETag in If-None-Match")
+    })
+    @GetMapping(value = "/due-soon",
+                produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, APPLICATION_SMILE_VALUE})
+    public ResponseEntity<List<TaskView>> getDueSoonTasks(
+            @Parameter(description = "Number of days ahead to include, today being day 0 (default 7, max 365)")
+            @RequestParam(required = false) Integer days,
+            @Parameter(description = "Maximum number of tasks to return (default 50, max 500)")
+            @RequestParam(required = false) Integer limit,
+            WebRequest request) {
+        if (request.checkNotModified(datedCollectionETag())) {
+            return null;
+        }
+        return revalidated(taskService.getDueSoonTasks(days, limit));
+    }
+    
+    @Operation(summary = "Get task cache statistics", 
+               description = "Reports size, hit, miss and eviction counts of the in-process task cache")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved cache statistics",
+                content = @Content(mediaType = "application/json", schema = @Schema(implementation = TaskCacheStats.class)))
+    })
+    @GetMapping("/cache/stats")
+    public ResponseEntity<TaskCacheStats> getCacheStats() {
+        return ResponseEntity.ok(taskService.getCacheStats());
     }
     
     @Operation(summary = "Get task by ID", description = "Retrieves a specific task by its ID")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Successfully retrieved task",
                 content = @Content(mediaType = "application/json", schema = @Schema(implementation = Task.class))),
+        @ApiResponse(responseCode = "304", description = "Task has not changed since the ETag in If-None-Match"),
         @ApiResponse(responseCode = "404", description = "Task not found")
     })
     @GetMapping("/{id}")
     public ResponseEntity<Task> getTaskById(
             @Parameter(description = "ID of the task to retrieve")
-            @PathVariable Long id) {
-        return taskService.getTaskById(id)
-                .map(ResponseEntity::ok)
-                .orElse(ResponseEntity.notFound().build());
+            @PathVariable Long id,
+            WebRequest request) {
+        Optional<Task> task = taskService.getTaskById(id);
+        if (task.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        if (request.checkNotModified(entityETag(task.get()))) {
+            return null;
+        }
+        return revalidated(task.get());
     }
     
     @Operation(summary = "Create a new task", description = "Creates a new task with the provided details")
@@ -100,44 +303,151 @@ public class TaskController {
             @Parameter(description = "Task object to create")
             @Valid @RequestBody Task task) {
         Task createdTask = taskService.createTask(task);
-        return ResponseEntity.status(HttpStatus.CREATED).body(createdTask);
+        return ResponseEntity.status(HttpStatus.CREATED).eTag(entityETag(createdTask)).body(createdTask);
+    }
+    
+    @Operation(summary = "Create tasks in bulk", 
+               description = "Creates up to 1000 tasks in a single transaction and reports a result per item")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Batch processed, see per-item status",
+                content = @Content(mediaType = "application/json", schema = @Schema(implementation = BatchItemResult.class))),
+        @ApiResponse(responseCode = "400", description = "Too many items in the batch")
+    })
+    @PostMapping("/batch")
+    public ResponseEntity<List<BatchItemResult>> createTasks(
+            @Parameter(description = "Task objects to create")
+            @RequestBody List<Task> tasks) {
+        return ResponseEntity.ok(taskService.createTasks(tasks));
     }
     
-    @Operation(summary = "Update an existing task", description = "Updates a task with the provided details")
+    @Operation(summary = "Update tasks in bulk", 
+               description = "Updates up to 1000 tasks, identified by their 'id' field, in a single transaction " +
+                       "and reports a result per item")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Batch processed, see per-item status",
+                content = @Content(mediaType = "application/json", schema = @Schema(implementation = BatchItemResult.class))),
+        @ApiResponse(responseCode = "400", description = "Too many items in the batch")
+    })
+    @PutMapping("/batch")
+    public ResponseEntity<List<BatchItemResult>> updateTasks(
+            @Parameter(description = "Updated task objects, each including its ID")
+            @RequestBody List<Task> tasks) {
+        return ResponseEntity.ok(taskService.updateTasks(tasks));
+    }
+    
+    @Operation(summary = "Delete tasks in bulk", 
+               description = "Deletes up to 1000 tasks in a single transaction and reports a result per ID")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Batch processed, see per-item status",
+                content = @Content(mediaType = "application/json", schema = @Schema(implementation = BatchItemResult.class))),
+        @ApiResponse(responseCode = "400", description = "Too many items in the batch")
+    })
+    @DeleteMapping("/batch")
+    public ResponseEntity<List<BatchItemResult>> deleteTasks(
+            @Parameter(description = "IDs of the tasks to delete")
+            @RequestBody List<Long> ids) {
+        return ResponseEntity.ok(taskService.deleteTasks(ids));
+    }
+    
+    @Operation(summary = "Update an existing task", 
+               description = "Updates a task with the provided details. With If-Match, the update only applies " +
+                       "if the task still has that ETag")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Task successfully updated",
                 content = @Content(mediaType = "application/json", schema = @Schema(implementation = Task.class))),
         @ApiResponse(responseCode = "404", description = "Task not found"),
-        @ApiResponse(responseCode = "400", description = "Invalid task data provided")
+        @ApiResponse(responseCode = "400", description = "Invalid task data provided"),
+        @ApiResponse(responseCode = "412", description = "Task was modified since the ETag in If-Match")
     })
     @PutMapping("/{id}")
     public ResponseEntity<Task> updateTask(
             @Parameter(description = "ID of the task to update")
             @PathVariable Long id, 
             @Parameter(description = "Updated task object")
-            @Valid @RequestBody Task task) {
-        try {
-            Task updatedTask = taskService.updateTask(id, task);
-            return ResponseEntity.ok(updatedTask);
-        } catch (RuntimeException e) {
-            return ResponseEntity.notFound().build();
-        }
+            @Valid @RequestBody Task task,
+            @Parameter(description = "ETag of the task the update is based on")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Task updatedTask = taskService.updateTask(id, task, expectedVersion(ifMatch));
+        return ResponseEntity.ok().eTag(entityETag(updatedTask)).body(updatedTask);
     }
     
-    @Operation(summary = "Delete a task", description = "Deletes a task by its ID")
+    @Operation(summary = "Partially update a task", 
+               description = "Changes only the fields present in the request (JSON merge patch); a field sent " +
+                       "as null is cleared. With If-Match, the patch only applies if the task still has that ETag")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Task successfully updated",
+                content = @Content(mediaType = "application/json", schema = @Schema(implementation = Task.class))),
+        @ApiResponse(responseCode = "404", description = "Task not found"),
+        @ApiResponse(responseCode = "400", description = "Invalid task data provided"),
+        @ApiResponse(responseCode = "412", description = "Task was modified since the ETag in If-Match")
+    })
+    @PatchMapping(value = "/{id}", consumes = {"application/merge-patch+json", MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<Task> patchTask(
+            @Parameter(description = "ID of the task to update")
+            @PathVariable Long id,
+            @Parameter(description = "Fields to change")
+            @Valid @RequestBody TaskPatch patch,
+            @Parameter(description = "ETag of the task the patch is based on")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Task updatedTask = taskService.patchTask(id, patch, expectedVersion(ifMatch));
+        return ResponseEntity.ok().eTag(entityETag(updatedTask)).body(updatedTask);
+    }
+    
+    @Operation(summary = "Delete a task", 
+               description = "Deletes a task by its ID. With If-Match, the task is only deleted if it still has " +
+                       "that ETag")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "204", description = "Task successfully deleted"),
-        @ApiResponse(responseCode = "404", description = "Task not found")
+        @ApiResponse(responseCode = "404", description = "Task not found"),
+        @ApiResponse(responseCode = "412", description = "Task was modified since the ETag in If-Match")
     })
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteTask(
             @Parameter(description = "ID of the task to delete")
-            @PathVariable Long id) {
+            @PathVariable Long id,
+            @Parameter(description = "ETag of the task the client expects to delete")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        taskService.deleteTask(id, expectedVersion(ifMatch));
+        return ResponseEntity.noContent().build();
+    }
+    
+    // Conditional GET support: checkNotModified sets the ETag header and answers 304 when the
+    // client's copy is current, in which case the handler returns without querying or serializing
+    private String collectionETag() {
+        return "W/\"" + taskService.getDataVersionTag() + "\"";
+    }
+    
+    // Overdue and due-soon results and the stats' due-date buckets also change at midnight without any write
+    private String datedCollectionETag() {
+        return "W/\"" + taskService.getDataVersionTag() + "-" + LocalDate.now() + "\"";
+    }
+    
+    // A task's ETag is its version, so the same value serves If-None-Match on reads and If-Match on writes
+    private static String entityETag(Task task) {
+        return "\"" + task.getVersion() + "\"";
+    }
+    
+    // If-Match uses strong comparison: a weak or malformed tag can never match, so it maps to a
+    // version no task has. No header, or "*", means the write is unconditional
+    private static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.length() < 3 || !tag.startsWith("\"") || !tag.endsWith("\"")) {
+            return NO_MATCHING_VERSION;
+        }
         try {
-            taskService.deleteTask(id);
-            return ResponseEntity.noContent().build();
-        } catch (RuntimeException e) {
-            return ResponseEntity.notFound().build();
+            return Long.parseLong(tag.substring(1, tag.length() - 1));
+        } catch (NumberFormatException e) {
+            return NO_MATCHING_VERSION;
         }
     }
+    
+    private static <T> ResponseEntity<T> revalidated(T body) {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(body);
+    }
 }
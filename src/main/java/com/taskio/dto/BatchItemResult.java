@@ -0,0 +1,28 @@
+package com.taskio.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.springframework.http.HttpStatus;
+
+@Schema(description = "Outcome of a single item in a batch request")
+public record BatchItemResult(
+        @Schema(description = "Position of the item in the request", example = "0")
+        int index,
+
+        @Schema(description = "ID of the affected task, if known", example = "1")
+        Long id,
+
+        @Schema(description = "HTTP status code for this item", example = "201")
+        int status,
+
+        @Schema(description = "Error message when the item was rejected")
+        String message
+) {
+
+    public static BatchItemResult success(int index, Long id, HttpStatus status) {
+        return new BatchItemResult(index, id, status.value(), null);
+    }
+
+    public static BatchItemResult failure(int index, Long id, HttpStatus status, String message) {
+        return new BatchItemResult(index, id, status.value(), message);
+    }
+}
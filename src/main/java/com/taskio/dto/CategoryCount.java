@@ -0,0 +1,13 @@
+package com.taskio.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "A task category with the number of tasks in it")
+public record CategoryCount(
+        @Schema(description = "Category name", example = "Development")
+        String category,
+
+        @Schema(description = "Number of tasks in the category", example = "12")
+        long count
+) {
+}
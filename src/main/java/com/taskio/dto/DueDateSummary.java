@@ -0,0 +1,22 @@
+package com.taskio.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Open (not DONE) tasks bucketed by due date relative to today")
+public record DueDateSummary(
+        @Schema(description = "Due before today", example = "4")
+        long overdue,
+
+        @Schema(description = "Due today", example = "2")
+        long dueToday,
+
+        @Schema(description = "Due in the next 7 days, excluding today", example = "9")
+        long dueThisWeek,
+
+        @Schema(description = "Due more than 7 days from today", example = "15")
+        long later,
+
+        @Schema(description = "Without a due date", example = "3")
+        long noDueDate
+) {
+}
@@ -0,0 +1,6 @@
+package com.taskio.dto;
+
+import com.taskio.model.TaskStatus;
+
+public record StatusCount(TaskStatus status, long count) {
+}
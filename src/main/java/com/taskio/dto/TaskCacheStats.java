@@ -0,0 +1,22 @@
+package com.taskio.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Statistics of the task read-through cache since startup")
+public record TaskCacheStats(
+        @Schema(description = "Approximate number of cached tasks", example = "1200")
+        long size,
+
+        @Schema(description = "Lookups served from the cache", example = "9500")
+        long hitCount,
+
+        @Schema(description = "Lookups that went to the database", example = "500")
+        long missCount,
+
+        @Schema(description = "Ratio of hits to lookups", example = "0.95")
+        double hitRate,
+
+        @Schema(description = "Tasks evicted because of the size limit or TTL", example = "20")
+        long evictionCount
+) {
+}
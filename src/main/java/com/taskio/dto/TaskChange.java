@@ -0,0 +1,37 @@
+package com.taskio.dto;
+
+import com.taskio.model.Task;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Change to a task, sent on the task event stream")
+public record TaskChange(
+        @Schema(description = "Kind of change; also the SSE event name", example = "UPDATED")
+        Type type,
+
+        @Schema(description = "ID of the changed task", example = "1")
+        Long id,
+
+        @Schema(description = "Task after the change; null for deletions")
+        Task task
+) {
+
+    public enum Type {
+        CREATED, UPDATED, DELETED;
+
+        public String eventName() {
+            return name().toLowerCase();
+        }
+    }
+
+    public static TaskChange created(Task task) {
+        return new TaskChange(Type.CREATED, task.getId(), task);
+    }
+
+    public static TaskChange updated(Task task) {
+        return new TaskChange(Type.UPDATED, task.getId(), task);
+    }
+
+    public static TaskChange deleted(Long id) {
+        return new TaskChange(Type.DELETED, id, null);
+    }
+}
@@ -0,0 +1,16 @@
+package com.taskio.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "A page of tasks ordered by id, with a cursor for the next page")
+public record TaskPage(
+        @Schema(description = "Tasks on this page")
+        List<TaskView> items,
+
+        @Schema(description = "Opaque cursor to pass as 'after' to fetch the next page, null on the last page",
+                example = "aWQ6NTA")
+        String nextCursor
+) {
+}
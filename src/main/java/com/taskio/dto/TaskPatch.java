@@ -0,0 +1,81 @@
+package com.taskio.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.taskio.model.Task;
+import com.taskio.model.TaskStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+/**
+ * Partial update of a task with JSON merge patch semantics: a field that is absent from the
+ * request is {@code null} here and left unchanged, a field sent as {@code null} is
+ * {@link Optional#empty()} and cleared.
+ */
+@Schema(description = "Fields to change on a task; omitted fields are left unchanged, null clears a field")
+public record TaskPatch(
+        @Schema(description = "New title", example = "Complete project documentation", maxLength = 100)
+        Optional<@NotBlank(message = "Title is required") @Size(max = 100, message = "Title must not exceed 100 characters") String> title,
+
+        @Schema(description = "New description", maxLength = 500)
+        Optional<@Size(max = 500, message = "Description must not exceed 500 characters") String> description,
+
+        @Schema(description = "New status", example = "DONE")
+        Optional<TaskStatus> status,
+
+        @Schema(description = "New due date", example = "2026-01-20")
+        Optional<LocalDate> dueDate,
+
+        @Schema(description = "New category", example = "Development", maxLength = 50)
+        Optional<@Size(max = 50, message = "Category must not exceed 50 characters") String> category
+) {
+
+    // A patch that sets every field to the values of the given task, as PUT does
+    public static TaskPatch replacing(Task task) {
+        return new TaskPatch(
+                Optional.ofNullable(task.getTitle()),
+                Optional.ofNullable(task.getDescription()),
+                Optional.ofNullable(task.getStatus()),
+                Optional.ofNullable(task.getDueDate()),
+                Optional.ofNullable(task.getCategory()));
+    }
+
+    @JsonIgnore
+    public boolean isEmpty() {
+        return title == null && description == null && status == null && dueDate == null && category == null;
+    }
+
+    public void applyTo(Task task) {
+        if (title != null) {
+            task.setTitle(title.orElse(null));
+        }
+        if (description != null) {
+            task.setDescription(description.orElse(null));
+        }
+        if (status != null) {
+            task.setStatus(status.orElse(null));
+        }
+        if (dueDate != null) {
+            task.setDueDate(dueDate.orElse(null));
+        }
+        if (category != null) {
+            task.setCategory(category.orElse(null));
+        }
+    }
+
+    @JsonIgnore
+    @AssertTrue(message = "Title is required")
+    public boolean isTitleKept() {
+        return title == null || title.isPresent();
+    }
+
+    @JsonIgnore
+    @AssertTrue(message = "Status is required")
+    public boolean isStatusKept() {
+        return status == null || status.isPresent();
+    }
+}
@@ -0,0 +1,22 @@
+package com.taskio.dto;
+
+import com.taskio.model.TaskStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.Map;
+
+@Schema(description = "Aggregated task counts, optionally restricted by the search filters")
+public record TaskStats(
+        @Schema(description = "Number of matching tasks", example = "33")
+        long total,
+
+        @Schema(description = "Number of matching tasks per status, including statuses with no tasks")
+        Map<TaskStatus, Long> byStatus,
+
+        @Schema(description = "Number of matching tasks per category, sorted by category")
+        Map<String, Long> byCategory,
+
+        @Schema(description = "Open matching tasks bucketed by due date")
+        DueDateSummary dueDates
+) {
+}
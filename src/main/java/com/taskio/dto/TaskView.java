@@ -0,0 +1,32 @@
+package com.taskio.dto;
+
+import com.taskio.model.TaskStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDate;
+
+@Schema(description = "Read-only view of a task as returned by the list endpoints")
+public record TaskView(
+        @Schema(description = "Unique identifier of the task", example = "1")
+        Long id,
+
+        @Schema(description = "Title of the task", example = "Complete project documentation")
+        String title,
+
+        @Schema(description = "Detailed description of the task",
+                example = "Write comprehensive documentation for the API endpoints")
+        String description,
+
+        @Schema(description = "Current status of the task", example = "TODO")
+        TaskStatus status,
+
+        @Schema(description = "Due date for task completion", example = "2026-01-20")
+        LocalDate dueDate,
+
+        @Schema(description = "Category or tag for the task", example = "Development")
+        String category,
+
+        @Schema(description = "Revision of the task, to send in If-Match when updating or deleting it", example = "0")
+        Long version
+) {
+}
@@ -0,0 +1,8 @@
+package com.taskio.exception;
+
+public class BatchSizeExceededException extends RuntimeException {
+
+    public BatchSizeExceededException(int size, int maxSize) {
+        super("Batch size " + size + " exceeds the maximum of " + maxSize);
+    }
+}
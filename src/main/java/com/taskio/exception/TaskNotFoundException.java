@@ -0,0 +1,9 @@
+package com.taskio.exception;
+
+// Expected on every request for a missing id, so it skips the stack trace
+public class TaskNotFoundException extends RuntimeException {
+
+    public TaskNotFoundException(Long id) {
+        super("Task not found with id: " + id, null, false, false);
+    }
+}
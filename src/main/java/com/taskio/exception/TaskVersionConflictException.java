@@ -0,0 +1,8 @@
+package com.taskio.exception;
+
+public class TaskVersionConflictException extends RuntimeException {
+
+    public TaskVersionConflictException(Long id) {
+        super("Task " + id + " was modified by another request", null, false, false);
+    }
+}
@@ -0,0 +1,134 @@
+package com.taskio.journal;
+
+import com.taskio.model.Task;
+import com.taskio.model.TaskStatus;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.zip.CRC32;
+
+/**
+ * Binary layout shared by journal segments and snapshots.
+ *
+ * <p>A frame is {@code [int length][long sequence][payload][int crc32]}; the length counts the
+ * payload and the checksum covers sequence and payload, so a write torn by a crash is detected
+ * and everything from it on is ignored. A payload is either an upsert,
+ * {@code [byte 1][long id][long version][title][description][byte status][long dueDate][category]},
+ * or a deletion, {@code [byte 2][long id]}. Strings are an int byte count ({@code -1} for null)
+ * followed by UTF-8 bytes; a missing due date is {@link Long#MIN_VALUE}. Both kinds of file start
+ * with {@code [int magic][int format version][long sequence]}; a snapshot header adds the value
+ * of the id sequence when it was taken.
+ */
+final class JournalCodec {
+
+    static final int FILE_HEADER_SIZE = Integer.BYTES + Integer.BYTES + Long.BYTES;
+    static final int SNAPSHOT_HEADER_SIZE = FILE_HEADER_SIZE + Long.BYTES;
+    // 2: snapshot headers carry the id sequence value
+    static final int FORMAT_VERSION = 2;
+    static final int SEGMENT_MAGIC = 0x544A4E4C; // "TJNL"
+    static final int SNAPSHOT_MAGIC = 0x54534E50; // "TSNP"
+    static final int FRAME_OVERHEAD = Integer.BYTES + Long.BYTES + Integer.BYTES;
+    static final int MAX_PAYLOAD = 1 << 20;
+    // Written after the last snapshot frame, followed by the number of frames
+    static final int END_OF_SNAPSHOT = -1;
+
+    private static final byte PUT = 1;
+    private static final byte DELETE = 2;
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+
+    private JournalCodec() {
+    }
+
+    static byte[] encodePut(long id, long version, String title, String description, TaskStatus status,
+                            LocalDate dueDate, String category) {
+        byte[] titleBytes = utf8(title);
+        byte[] descriptionBytes = utf8(description);
+        byte[] categoryBytes = utf8(category);
+        ByteBuffer buffer = ByteBuffer.allocate(1 + Long.BYTES * 2 + stringSize(titleBytes)
+                + stringSize(descriptionBytes) + 1 + Long.BYTES + stringSize(categoryBytes));
+        buffer.put(PUT)
+                .putLong(id)
+                .putLong(version);
+        putString(buffer, titleBytes);
+        putString(buffer, descriptionBytes);
+        buffer.put((byte) status.ordinal())
+                .putLong(dueDate != null ? dueDate.toEpochDay() : Long.MIN_VALUE);
+        putString(buffer, categoryBytes);
+        return buffer.array();
+    }
+
+    static byte[] encodePut(Task task) {
+        return encodePut(task.getId(), task.getVersion() != null ? task.getVersion() : 0L, task.getTitle(),
+                task.getDescription(), task.getStatus(), task.getDueDate(), task.getCategory());
+    }
+
+    static byte[] encodeDelete(long id) {
+        return ByteBuffer.allocate(1 + Long.BYTES).put(DELETE).putLong(id).array();
+    }
+
+    static int frameSize(byte[] payload) {
+        return FRAME_OVERHEAD + payload.length;
+    }
+
+    static void putFrame(ByteBuffer target, long sequence, byte[] payload) {
+        int start = target.position();
+        target.putInt(payload.length)
+                .putLong(sequence)
+                .put(payload);
+        CRC32 crc = new CRC32();
+        crc.update(target.duplicate().position(start + Integer.BYTES).limit(target.position()));
+        target.putInt((int) crc.getValue());
+    }
+
+    static void putFileHeader(ByteBuffer target, int magic, long sequence) {
+        target.putInt(magic)
+                .putInt(FORMAT_VERSION)
+                .putLong(sequence);
+    }
+
+    static JournalEntry decode(long sequence, ByteBuffer payload) {
+        byte type = payload.get();
+        long id = payload.getLong();
+        if (type == DELETE) {
+            return JournalEntry.deletion(sequence, id);
+        }
+        if (type != PUT) {
+            throw new IllegalStateException("Unknown journal record type " + type + " at sequence " + sequence);
+        }
+        long version = payload.getLong();
+        String title = getString(payload);
+        String description = getString(payload);
+        TaskStatus status = STATUSES[payload.get()];
+        long epochDay = payload.getLong();
+        String category = getString(payload);
+        return new JournalEntry(sequence, false, id, version, title, description, status,
+                epochDay == Long.MIN_VALUE ? null : LocalDate.ofEpochDay(epochDay), category);
+    }
+
+    private static byte[] utf8(String value) {
+        return value != null ? value.getBytes(StandardCharsets.UTF_8) : null;
+    }
+
+    private static int stringSize(byte[] bytes) {
+        return Integer.BYTES + (bytes != null ? bytes.length : 0);
+    }
+
+    private static void putString(ByteBuffer buffer, byte[] bytes) {
+        if (bytes == null) {
+            buffer.putInt(-1);
+        } else {
+            buffer.putInt(bytes.length).put(bytes);
+        }
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
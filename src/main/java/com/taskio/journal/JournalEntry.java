@@ -0,0 +1,23 @@
+package com.taskio.journal;
+
+import com.taskio.model.TaskStatus;
+
+import java.time.LocalDate;
+
+// A decoded journal or snapshot record: the full state of a task, or its deletion
+record JournalEntry(
+        long sequence,
+        boolean deleted,
+        long id,
+        long version,
+        String title,
+        String description,
+        TaskStatus status,
+        LocalDate dueDate,
+        String category
+) {
+
+    static JournalEntry deletion(long sequence, long id) {
+        return new JournalEntry(sequence, true, id, 0L, null, null, null, null, null);
+    }
+}
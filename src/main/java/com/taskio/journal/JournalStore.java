@@ -0,0 +1,513 @@
+package com.taskio.journal;
+
+import com.taskio.model.TaskStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Append-only journal of task records plus periodic snapshots of the tasks table, kept in one
+ * directory.
+ *
+ * <p>Appends are queued to a single writer thread, which takes everything queued while the
+ * previous sync was running, writes it with one write call and one {@code force}; an append
+ * returns once its records are on disk, so concurrent writers share the cost of a sync. The
+ * journal is split into segments {@code journal-<first sequence>.log}. A snapshot first switches
+ * to a new segment, then streams the table into {@code snapshot-<last sequence>.bin} and deletes
+ * the older snapshots and segments it covers. A failed write abandons its segment, as a partly
+ * written record would hide every later one in it, and the next append starts a new one.
+ *
+ * <p>Records are appended after the write commits, so two writes to the same task may reach the
+ * journal out of order, and a snapshot may already contain writes that are also in the segments
+ * after it. Replay therefore keeps the highest version of each task and lets a deletion win, ids
+ * never being reused, instead of applying records in sequence order. To keep them unused, the id
+ * sequence is restarted above every id in the journal, deleted ones included, and above the
+ * sequence value recorded in the snapshot header, which covers tasks deleted before the snapshot.
+ */
+class JournalStore {
+
+    static final int INSERT_BATCH_SIZE = 1000;
+
+    private static final Pattern SEGMENT_NAME = Pattern.compile("journal-(\\d+)\\.log");
+    private static final Pattern SNAPSHOT_NAME = Pattern.compile("snapshot-(\\d+)\\.bin");
+    private static final int SNAPSHOT_BUFFER_SIZE = 1 << 20;
+    private static final int SNAPSHOT_TRAILER_SIZE = Integer.BYTES + Long.BYTES;
+    // Hibernate hands out ids in blocks of the sequence's allocation size below the value it reads
+    private static final long ID_ALLOCATION_SIZE = 50;
+    private static final String SELECT_ID_SEQUENCE =
+            "SELECT BASE_VALUE FROM INFORMATION_SCHEMA.SEQUENCES WHERE SEQUENCE_NAME = 'TASKS_SEQ'";
+    private static final String SELECT_TASKS =
+            "SELECT id, title, description, status, due_date, category, version FROM tasks";
+    private static final String INSERT_TASK =
+            "INSERT INTO tasks (id, title, description, status, due_date, category, version) VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final Request STOP = new Request(null, null);
+
+    private final Path directory;
+    private final JdbcTemplate jdbcTemplate;
+    private final BlockingQueue<Request> requests = new LinkedBlockingQueue<>();
+    private final Object snapshotLock = new Object();
+    private Thread writer;
+    private boolean closed;
+
+    // Owned by the writer thread once it runs; segment is null after a failed write until the next one
+    private FileChannel segment;
+    private long nextSequence;
+
+    // Guarded by snapshotLock
+    private long snapshotSequence;
+
+    private volatile long lastSequence;
+
+    JournalStore(Path directory, JdbcTemplate jdbcTemplate) {
+        this.directory = directory;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Restores the tasks table from the newest snapshot and the segments after it when the table
+     * is empty, then starts a new segment for appends.
+     */
+    Recovery open() throws IOException {
+        Files.createDirectories(directory);
+        TreeMap<Long, Path> snapshots = list(SNAPSHOT_NAME);
+        TreeMap<Long, Path> segments = list(SEGMENT_NAME);
+        boolean restore = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tasks", Long.class) == 0;
+
+        long snapshotLast = 0;
+        Path snapshot = null;
+        for (Map.Entry<Long, Path> entry : snapshots.descendingMap().entrySet()) {
+            if (isComplete(entry.getValue())) {
+                snapshotLast = entry.getKey();
+                snapshot = entry.getValue();
+                break;
+            }
+        }
+
+        Map<Long, JournalEntry> tail = new HashMap<>();
+        long last = snapshotLast;
+        long replayed = 0;
+        for (Path path : segments.values()) {
+            long[] range = readSegment(path, snapshotLast, restore ? tail : null);
+            last = Math.max(last, range[0]);
+            replayed += range[1];
+        }
+
+        long restored = 0;
+        if (restore) {
+            long[] nextId = {0};
+            restored = restore(snapshot, tail, nextId);
+            if (nextId[0] > 0) {
+                jdbcTemplate.execute("ALTER SEQUENCE tasks_seq RESTART WITH " + nextId[0]);
+            }
+        }
+
+        snapshotSequence = snapshotLast;
+        lastSequence = last;
+        nextSequence = last + 1;
+        segment = createSegment(nextSequence);
+        writer = new Thread(this::writeLoop, "task-journal-writer");
+        writer.setDaemon(true);
+        writer.start();
+        return new Recovery(restore, restored, replayed, last);
+    }
+
+    /**
+     * Appends the payloads as consecutive records and returns once they are synced to disk.
+     *
+     * @throws UncheckedIOException when the journal could not be written; the next append tries
+     *                              again in a new segment
+     */
+    void append(List<byte[]> payloads) {
+        CompletableFuture<Long> done = new CompletableFuture<>();
+        enqueue(new Request(payloads, done));
+        await(done);
+    }
+
+    /**
+     * Writes a snapshot if anything was appended since the last one.
+     *
+     * @return whether a snapshot was written
+     */
+    boolean snapshot() throws IOException {
+        synchronized (snapshotLock) {
+            if (lastSequence == snapshotSequence) {
+                return false;
+            }
+            CompletableFuture<Long> rotated = new CompletableFuture<>();
+            enqueue(new Request(null, rotated));
+            long covered = await(rotated);
+            // Read after the switch: every id allocated before it is below this value, and the
+            // records of tasks created since are in the segments after the snapshot
+            long idHighWater = jdbcTemplate.queryForObject(SELECT_ID_SEQUENCE, Long.class);
+
+            Path file = directory.resolve("snapshot-" + covered + ".bin");
+            Path temporary = directory.resolve(file.getFileName() + ".tmp");
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                SnapshotWriter snapshotWriter = new SnapshotWriter(channel, covered, idHighWater);
+                try {
+                    jdbcTemplate.query(SELECT_TASKS, resultSet -> {
+                        snapshotWriter.write(JournalCodec.encodePut(resultSet.getLong(1), resultSet.getLong(7),
+                                resultSet.getString(2), resultSet.getString(3), TaskStatus.valueOf(resultSet.getString(4)),
+                                resultSet.getObject(5, LocalDate.class), resultSet.getString(6)));
+                    });
+                    snapshotWriter.finish();
+                } catch (UncheckedIOException e) {
+                    throw e.getCause();
+                }
+                channel.force(true);
+            }
+            Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            syncDirectory();
+            snapshotSequence = covered;
+
+            for (Map.Entry<Long, Path> entry : list(SNAPSHOT_NAME).entrySet()) {
+                if (entry.getKey() < covered) {
+                    Files.deleteIfExists(entry.getValue());
+                }
+            }
+            for (Map.Entry<Long, Path> entry : list(SEGMENT_NAME).entrySet()) {
+                if (entry.getKey() <= covered) {
+                    Files.deleteIfExists(entry.getValue());
+                }
+            }
+            return true;
+        }
+    }
+
+    // Lets queued appends finish, then stops the writer; later appends fail
+    void close() {
+        synchronized (requests) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            requests.add(STOP);
+        }
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void enqueue(Request request) {
+        // STOP must stay the last request the writer sees
+        synchronized (requests) {
+            if (closed) {
+                throw new IllegalStateException("Task journal is closed");
+            }
+            requests.add(request);
+        }
+    }
+
+    private static long await(CompletableFuture<Long> done) {
+        try {
+            return done.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private void writeLoop() {
+        List<Request> group = new ArrayList<>();
+        List<Request> pending = new ArrayList<>();
+        while (true) {
+            try {
+                group.add(requests.take());
+            } catch (InterruptedException e) {
+                return;
+            }
+            requests.drainTo(group);
+            for (Request request : group) {
+                if (request == STOP) {
+                    flush(pending);
+                    closeSegment();
+                    return;
+                }
+                if (request.payloads() != null) {
+                    pending.add(request);
+                } else {
+                    // Records queued before the switch belong to the old segment
+                    flush(pending);
+                    rotate(request);
+                }
+            }
+            flush(pending);
+            group.clear();
+        }
+    }
+
+    private void flush(List<Request> pending) {
+        if (pending.isEmpty()) {
+            return;
+        }
+        try {
+            if (segment == null) {
+                segment = createSegment(nextSequence);
+            }
+            int size = 0;
+            for (Request request : pending) {
+                for (byte[] payload : request.payloads()) {
+                    size += JournalCodec.frameSize(payload);
+                }
+            }
+            ByteBuffer buffer = ByteBuffer.allocate(size);
+            for (Request request : pending) {
+                for (byte[] payload : request.payloads()) {
+                    JournalCodec.putFrame(buffer, nextSequence++, payload);
+                }
+            }
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                segment.write(buffer);
+            }
+            segment.force(false);
+            lastSequence = nextSequence - 1;
+            pending.forEach(request -> request.done().complete(lastSequence));
+        } catch (IOException e) {
+            pending.forEach(request -> request.done().completeExceptionally(journalFailure(e)));
+            // The sequences of the failed records stay used, so the next segment cannot clash with them
+            closeSegment();
+        }
+        pending.clear();
+    }
+
+    private void rotate(Request request) {
+        try {
+            closeSegment();
+            segment = createSegment(nextSequence);
+            request.done().complete(nextSequence - 1);
+        } catch (IOException e) {
+            request.done().completeExceptionally(journalFailure(e));
+        }
+    }
+
+    private void closeSegment() {
+        if (segment == null) {
+            return;
+        }
+        try {
+            segment.close();
+        } catch (IOException e) {
+            // Every record was already forced, or the segment is being abandoned
+        }
+        segment = null;
+    }
+
+    private static UncheckedIOException journalFailure(IOException e) {
+        return new UncheckedIOException("Could not write to the task journal", e);
+    }
+
+    private FileChannel createSegment(long firstSequence) throws IOException {
+        // An existing segment with this name holds no valid record, or the sequence would be higher
+        FileChannel channel = FileChannel.open(directory.resolve("journal-" + firstSequence + ".log"),
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        ByteBuffer header = ByteBuffer.allocate(JournalCodec.FILE_HEADER_SIZE);
+        JournalCodec.putFileHeader(header, JournalCodec.SEGMENT_MAGIC, firstSequence);
+        header.flip();
+        while (header.hasRemaining()) {
+            channel.write(header);
+        }
+        channel.force(true);
+        syncDirectory();
+        return channel;
+    }
+
+    // Reads the records of one segment after the snapshot into tail; returns {last sequence, records read}
+    private static long[] readSegment(Path path, long after, Map<Long, JournalEntry> tail) throws IOException {
+        long[] result = {0, 0};
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (!hasHeader(channel, JournalCodec.SEGMENT_MAGIC)) {
+                return result;
+            }
+            MappedFrameReader.read(channel, JournalCodec.FILE_HEADER_SIZE, (sequence, payload) -> {
+                result[0] = Math.max(result[0], sequence);
+                if (sequence <= after) {
+                    return;
+                }
+                result[1]++;
+                if (tail != null) {
+                    JournalEntry entry = JournalCodec.decode(sequence, payload);
+                    tail.merge(entry.id(), entry, JournalStore::newer);
+                }
+            });
+        }
+        return result;
+    }
+
+    private static JournalEntry newer(JournalEntry current, JournalEntry candidate) {
+        if (current.deleted() || candidate.deleted()) {
+            return current.deleted() ? current : candidate;
+        }
+        return candidate.version() > current.version() ? candidate : current;
+    }
+
+    // Inserts the snapshot merged with the tail, in batches; returns the number of tasks restored and
+    // sets nextId to the value the id sequence must restart with, or leaves it 0 when nothing was found
+    private long restore(Path snapshot, Map<Long, JournalEntry> tail, long[] nextId) throws IOException {
+        List<Object[]> batch = new ArrayList<>(INSERT_BATCH_SIZE);
+        long[] restored = {0};
+        if (snapshot != null) {
+            try (FileChannel channel = FileChannel.open(snapshot, StandardOpenOption.READ)) {
+                ByteBuffer idHighWater = ByteBuffer.allocate(Long.BYTES);
+                channel.read(idHighWater, JournalCodec.FILE_HEADER_SIZE);
+                nextId[0] = idHighWater.getLong(0);
+                long end = MappedFrameReader.read(channel, JournalCodec.SNAPSHOT_HEADER_SIZE, (sequence, payload) -> {
+                    JournalEntry entry = JournalCodec.decode(sequence, payload);
+                    JournalEntry later = tail.remove(entry.id());
+                    if (later != null) {
+                        entry = newer(entry, later);
+                    }
+                    nextId[0] = Math.max(nextId[0], entry.id() + ID_ALLOCATION_SIZE + 1);
+                    if (!entry.deleted()) {
+                        insert(batch, entry);
+                        restored[0]++;
+                    }
+                });
+                if (end != channel.size() - SNAPSHOT_TRAILER_SIZE) {
+                    throw new IOException("Snapshot " + snapshot + " is corrupt at offset " + end);
+                }
+            }
+        }
+        for (JournalEntry entry : tail.values()) {
+            // A deleted id must not be handed out again either
+            nextId[0] = Math.max(nextId[0], entry.id() + ID_ALLOCATION_SIZE + 1);
+            if (!entry.deleted()) {
+                insert(batch, entry);
+                restored[0]++;
+            }
+        }
+        flushInserts(batch);
+        return restored[0];
+    }
+
+    private void insert(List<Object[]> batch, JournalEntry entry) {
+        batch.add(new Object[]{entry.id(), entry.title(), entry.description(), entry.status().name(),
+                entry.dueDate() != null ? Date.valueOf(entry.dueDate()) : null, entry.category(), entry.version()});
+        if (batch.size() == INSERT_BATCH_SIZE) {
+            flushInserts(batch);
+        }
+    }
+
+    private void flushInserts(List<Object[]> batch) {
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_TASK, batch);
+            batch.clear();
+        }
+    }
+
+    // Snapshots are renamed into place only once complete, so a bad trailer means the disk lost data
+    private static boolean isComplete(Path snapshot) throws IOException {
+        try (FileChannel channel = FileChannel.open(snapshot, StandardOpenOption.READ)) {
+            if (channel.size() < JournalCodec.SNAPSHOT_HEADER_SIZE + SNAPSHOT_TRAILER_SIZE
+                    || !hasHeader(channel, JournalCodec.SNAPSHOT_MAGIC)) {
+                return false;
+            }
+            ByteBuffer trailer = ByteBuffer.allocate(SNAPSHOT_TRAILER_SIZE);
+            channel.read(trailer, channel.size() - SNAPSHOT_TRAILER_SIZE);
+            return trailer.getInt(0) == JournalCodec.END_OF_SNAPSHOT;
+        }
+    }
+
+    private static boolean hasHeader(FileChannel channel, int magic) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(JournalCodec.FILE_HEADER_SIZE);
+        channel.read(header, 0);
+        return !header.hasRemaining()
+                && header.getInt(0) == magic
+                && header.getInt(Integer.BYTES) == JournalCodec.FORMAT_VERSION;
+    }
+
+    private TreeMap<Long, Path> list(Pattern pattern) throws IOException {
+        TreeMap<Long, Path> files = new TreeMap<>();
+        try (Stream<Path> paths = Files.list(directory)) {
+            paths.forEach(path -> {
+                Matcher matcher = pattern.matcher(path.getFileName().toString());
+                if (matcher.matches()) {
+                    files.put(Long.parseLong(matcher.group(1)), path);
+                }
+            });
+        }
+        return files;
+    }
+
+    // Makes a created or renamed file survive a crash; not supported on every platform
+    private void syncDirectory() {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // Best effort
+        }
+    }
+
+    // Records to append, or a switch to a new segment when payloads is null
+    private record Request(List<byte[]> payloads, CompletableFuture<Long> done) {
+    }
+
+    record Recovery(boolean restored, long tasks, long records, long lastSequence) {
+    }
+
+    private static final class SnapshotWriter {
+
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocate(SNAPSHOT_BUFFER_SIZE);
+        private long count;
+
+        SnapshotWriter(FileChannel channel, long lastSequence, long idHighWater) {
+            this.channel = channel;
+            JournalCodec.putFileHeader(buffer, JournalCodec.SNAPSHOT_MAGIC, lastSequence);
+            buffer.putLong(idHighWater);
+        }
+
+        void write(byte[] payload) {
+            if (buffer.remaining() < JournalCodec.frameSize(payload)) {
+                drain();
+            }
+            JournalCodec.putFrame(buffer, ++count, payload);
+        }
+
+        void finish() {
+            if (buffer.remaining() < SNAPSHOT_TRAILER_SIZE) {
+                drain();
+            }
+            buffer.putInt(JournalCodec.END_OF_SNAPSHOT).putLong(count);
+            drain();
+        }
+
+        private void drain() {
+            buffer.flip();
+            try {
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            buffer.clear();
+        }
+    }
+}
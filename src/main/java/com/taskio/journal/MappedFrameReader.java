@@ -0,0 +1,66 @@
+package com.taskio.journal;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.zip.CRC32;
+
+/**
+ * Reads frames (see {@link JournalCodec}) through read-only memory mappings, so replaying a
+ * large snapshot does not copy it through heap buffers. Files are mapped in windows, remapped
+ * when a frame crosses the end of the current one, so file size is not limited to 2 GB.
+ */
+final class MappedFrameReader {
+
+    private static final long WINDOW_SIZE = 256L << 20;
+
+    @FunctionalInterface
+    interface FrameHandler {
+        void frame(long sequence, ByteBuffer payload);
+    }
+
+    private MappedFrameReader() {
+    }
+
+    /**
+     * Passes each valid frame from {@code position} on to the handler and stops at the end of
+     * the file or at the first incomplete or corrupt frame.
+     *
+     * @return the position just after the last valid frame
+     */
+    static long read(FileChannel channel, long position, FrameHandler handler) throws IOException {
+        long size = channel.size();
+        CRC32 crc = new CRC32();
+        MappedByteBuffer window = null;
+        long windowStart = 0;
+        while (position + JournalCodec.FRAME_OVERHEAD <= size) {
+            if (window == null || position + Integer.BYTES > windowStart + window.limit()) {
+                windowStart = position;
+                window = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(WINDOW_SIZE, size - position));
+            }
+            int length = window.getInt((int) (position - windowStart));
+            if (length < 0 || length > JournalCodec.MAX_PAYLOAD) {
+                break;
+            }
+            long frameSize = JournalCodec.FRAME_OVERHEAD + (long) length;
+            if (position + frameSize > size) {
+                break;
+            }
+            if (position + frameSize > windowStart + window.limit()) {
+                windowStart = position;
+                window = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(WINDOW_SIZE, size - position));
+            }
+            int offset = (int) (position - windowStart);
+            crc.reset();
+            crc.update(window.slice(offset + Integer.BYTES, Long.BYTES + length));
+            if ((int) crc.getValue() != window.getInt(offset + Integer.BYTES + Long.BYTES + length)) {
+                break;
+            }
+            handler.frame(window.getLong(offset + Integer.BYTES),
+                    window.slice(offset + Integer.BYTES + Long.BYTES, length));
+            position += frameSize;
+        }
+        return position;
+    }
+}
@@ -0,0 +1,108 @@
+package com.taskio.journal;
+
+import com.taskio.dto.TaskChange;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Makes committed task writes durable across restarts of the in-memory database. When enabled,
+ * every change is appended to a {@link JournalStore} before the write is acknowledged, the tasks
+ * table is snapshotted periodically and on shutdown, and on startup an empty table is restored
+ * from the latest snapshot plus the journal after it. Disabled, appends do nothing.
+ */
+@Component
+public class TaskJournal {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskJournal.class);
+
+    @Value("${taskio.journal.enabled:false}")
+    private boolean enabled;
+
+    @Value("${taskio.journal.directory:data/journal}")
+    private String directory;
+
+    @Value("${taskio.journal.snapshot-interval:10m}")
+    private Duration snapshotInterval;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private JournalStore store;
+    private ScheduledExecutorService snapshots;
+
+    // Runs before TaskService builds its indexes from the table, as TaskService depends on this bean
+    @PostConstruct
+    void start() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        store = new JournalStore(Path.of(directory), jdbcTemplate);
+        long started = System.nanoTime();
+        JournalStore.Recovery recovery = store.open();
+        if (recovery.restored()) {
+            log.info("Restored {} tasks from {} in {} ms, replaying {} journal records", recovery.tasks(), directory,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started), recovery.records());
+        }
+        snapshots = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "task-journal-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+        snapshots.scheduleWithFixedDelay(this::snapshotQuietly, snapshotInterval.toMillis(),
+                snapshotInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        if (store == null) {
+            return;
+        }
+        snapshots.shutdown();
+        snapshots.awaitTermination(1, TimeUnit.MINUTES);
+        // A fresh snapshot keeps the next startup from replaying this run's journal
+        snapshotQuietly();
+        store.close();
+    }
+
+    /**
+     * Appends the changes and waits until they are synced to disk.
+     *
+     * @throws UncheckedIOException when the journal could not be written
+     */
+    public void append(List<TaskChange> changes) {
+        if (store == null || changes.isEmpty()) {
+            return;
+        }
+        store.append(changes.stream().map(TaskJournal::encode).toList());
+    }
+
+    private static byte[] encode(TaskChange change) {
+        return change.type() == TaskChange.Type.DELETED
+                ? JournalCodec.encodeDelete(change.id())
+                : JournalCodec.encodePut(change.task());
+    }
+
+    // The journal still covers everything since the last snapshot, so a failed one only costs replay time
+    private void snapshotQuietly() {
+        try {
+            store.snapshot();
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not write task snapshot to {}", directory, e);
+        }
+    }
+}
@@ -1,8 +1,10 @@
 package com.taskio.model;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -19,7 +21,8 @@ import java.time.LocalDate;
 public class Task {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_seq")
+    @SequenceGenerator(name = "task_seq", sequenceName = "tasks_seq", allocationSize = 50)
     @Schema(description = "Unique identifier of the task", example = "1", accessMode = Schema.AccessMode.READ_ONLY)
     private Long id;
     
@@ -34,6 +37,7 @@ public class Task {
     @Schema(description = "Detailed description of the task", example = "Write comprehensive documentation for the API endpoints", maxLength = 500)
     private String description;
     
+    @NotNull(message = "Status is required")
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     @Schema(description = "Current status of the task", example = "TODO", defaultValue = "TODO")
@@ -47,4 +51,11 @@ public class Task {
     @Column(length = 50)
     @Schema(description = "Category or tag for the task", example = "Development", maxLength = 50)
     private String category;
+    
+    @Version
+    @Column(nullable = false)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @Schema(description = "Revision of the task, incremented on every update; sent as the ETag", example = "0",
+            accessMode = Schema.AccessMode.READ_ONLY)
+    private Long version;
 }
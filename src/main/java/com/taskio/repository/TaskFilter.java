@@ -0,0 +1,49 @@
+package com.taskio.repository;
+
+import com.taskio.model.Task;
+import com.taskio.model.TaskStatus;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Search and filter criteria as a JPA specification. Only the filters that are set become
+ * predicates, so each filter combination gets its own statement that the database can plan
+ * against the indexes of the columns actually filtered on. Values are always bound as
+ * parameters, so requests with the same combination share one statement text.
+ * Null fields mean "no filter"; callers pass normalized (trimmed, non-blank) values.
+ */
+public record TaskFilter(String searchTerm, TaskStatus status, LocalDate startDate, LocalDate endDate,
+                         String category) implements Specification<Task> {
+    
+    @Override
+    public Predicate toPredicate(Root<Task> root, CriteriaQuery<?> query, CriteriaBuilder cb) {
+        List<Predicate> predicates = new ArrayList<>();
+        if (searchTerm != null) {
+            String pattern = "%" + searchTerm.toLowerCase(Locale.ROOT) + "%";
+            predicates.add(cb.or(
+                    cb.like(cb.lower(root.get("title")), pattern),
+                    cb.like(cb.lower(root.get("description")), pattern)));
+        }
+        if (status != null) {
+            predicates.add(cb.equal(root.get("status"), status));
+        }
+        if (startDate != null) {
+            predicates.add(cb.greaterThanOrEqualTo(root.get("dueDate"), startDate));
+        }
+        if (endDate != null) {
+            predicates.add(cb.lessThanOrEqualTo(root.get("dueDate"), endDate));
+        }
+        if (category != null) {
+            predicates.add(cb.equal(root.get("category"), category));
+        }
+        return cb.and(predicates.toArray(Predicate[]::new));
+    }
+}
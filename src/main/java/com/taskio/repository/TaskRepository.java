@@ -1,39 +1,97 @@
 package com.taskio.repository;
 
+import com.taskio.dto.CategoryCount;
+import com.taskio.dto.DueDateSummary;
+import com.taskio.dto.StatusCount;
+import com.taskio.dto.TaskView;
 import com.taskio.model.Task;
 import com.taskio.model.TaskStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
-public interface TaskRepository extends JpaRepository<Task, Long> {
+public interface TaskRepository extends JpaRepository<Task, Long>, JpaSpecificationExecutor<Task>, TaskViewRepository,
+        TaskWriteRepository {
+    
+    // List queries select TaskView projections, which Hibernate neither manages nor snapshots
+    String SELECT_VIEW = "SELECT new com.taskio.dto.TaskView(t.id, t.title, t.description, t.status, t.dueDate, t.category, t.version) " +
+                         "FROM Task t";
+    
+    // All tasks
+    @Query(SELECT_VIEW)
+    List<TaskView> findAllViews();
+    
+    // Multi-get by id, in no particular order
+    @Query(SELECT_VIEW + " WHERE t.id IN :ids")
+    List<TaskView> findViewsByIdIn(@Param("ids") Collection<Long> ids);
     
     // Search by title or description
-    @Query("SELECT t FROM Task t WHERE " +
+    @Query(SELECT_VIEW + " WHERE " +
            "LOWER(t.title) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
            "LOWER(t.description) LIKE LOWER(CONCAT('%', :searchTerm, '%'))")
-    List<Task> searchByTitleOrDescription(@Param("searchTerm") String searchTerm);
+    List<TaskView> searchByTitleOrDescription(@Param("searchTerm") String searchTerm);
     
     // Find by status
-    List<Task> findByStatus(TaskStatus status);
+    @Query(SELECT_VIEW + " WHERE t.status = :status")
+    List<TaskView> findByStatus(@Param("status") TaskStatus status);
     
     // Find by due date range
-    @Query("SELECT t FROM Task t WHERE t.dueDate BETWEEN :startDate AND :endDate")
-    List<Task> findByDueDateBetween(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+    @Query(SELECT_VIEW + " WHERE t.dueDate BETWEEN :startDate AND :endDate")
+    List<TaskView> findByDueDateBetween(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+    
+    // Keyset pagination: next page of tasks after the given id
+    @Query(SELECT_VIEW + " WHERE t.id > :afterId ORDER BY t.id")
+    List<TaskView> findViewsByIdGreaterThan(@Param("afterId") Long afterId, Limit limit);
+    
+    // Next chunk of entities after the given id, used to rebuild the in-memory indexes
+    List<Task> findByIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
     
-    // Combined search and filter
-    @Query("SELECT t FROM Task t WHERE " +
+    // Keyset pagination over a search and filter: next page of matching tasks after the given id
+    default List<TaskView> findByFilterAfter(TaskFilter filter, long afterId, Limit limit) {
+        Specification<Task> after = (root, query, cb) -> cb.greaterThan(root.get("id"), afterId);
+        return findViews(filter.and(after), limit);
+    }
+    
+    // Filter a set of tasks by id in id order, used to narrow down search index candidates
+    default List<TaskView> findByIdInAndFilter(Collection<Long> ids, TaskFilter filter) {
+        Specification<Task> idIn = (root, query, cb) -> root.get("id").in(ids);
+        return findViews(filter.and(idIn), Limit.unlimited());
+    }
+    
+    // Stream all tasks in id order without materializing the result; must be consumed inside a transaction
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT t FROM Task t ORDER BY t.id")
+    Stream<Task> streamAll();
+    
+    // Get distinct categories
+    @Query("SELECT DISTINCT t.category FROM Task t WHERE t.category IS NOT NULL ORDER BY t.category")
+    List<String> findDistinctCategories();
+    
+    // Statistics over the combined search and filter
+    @Query("SELECT new com.taskio.dto.StatusCount(t.status, COUNT(t)) FROM Task t WHERE " +
            "(:searchTerm IS NULL OR LOWER(t.title) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR LOWER(t.description) LIKE LOWER(CONCAT('%', :searchTerm, '%'))) AND " +
            "(:status IS NULL OR t.status = :status) AND " +
            "(:startDate IS NULL OR t.dueDate >= :startDate) AND " +
            "(:endDate IS NULL OR t.dueDate <= :endDate) AND " +
-           "(:category IS NULL OR t.category = :category)")
-    List<Task> findBySearchAndFilters(
+           "(:category IS NULL OR t.category = :category) " +
+           "GROUP BY t.status")
+    List<StatusCount> countByStatusFiltered(
         @Param("searchTerm") String searchTerm,
         @Param("status") TaskStatus status,
         @Param("startDate") LocalDate startDate,
@@ -41,7 +99,40 @@ public interface TaskRepository extends JpaRepository<Task, Long> {
         @Param("category") String category
     );
     
-    // Get distinct categories
-    @Query("SELECT DISTINCT t.category FROM Task t WHERE t.category IS NOT NULL ORDER BY t.category")
-    List<String> findDistinctCategories();
+    @Query("SELECT new com.taskio.dto.CategoryCount(t.category, COUNT(t)) FROM Task t WHERE " +
+           "(:searchTerm IS NULL OR LOWER(t.title) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR LOWER(t.description) LIKE LOWER(CONCAT('%', :searchTerm, '%'))) AND " +
+           "(:status IS NULL OR t.status = :status) AND " +
+           "(:startDate IS NULL OR t.dueDate >= :startDate) AND " +
+           "(:endDate IS NULL OR t.dueDate <= :endDate) AND " +
+           "(:category IS NULL OR t.category = :category) AND " +
+           "t.category IS NOT NULL GROUP BY t.category ORDER BY t.category")
+    List<CategoryCount> countByCategoryFiltered(
+        @Param("searchTerm") String searchTerm,
+        @Param("status") TaskStatus status,
+        @Param("startDate") LocalDate startDate,
+        @Param("endDate") LocalDate endDate,
+        @Param("category") String category
+    );
+    
+    @Query("SELECT new com.taskio.dto.DueDateSummary(" +
+           "COALESCE(SUM(CASE WHEN t.dueDate < :today THEN 1 ELSE 0 END), 0), " +
+           "COALESCE(SUM(CASE WHEN t.dueDate = :today THEN 1 ELSE 0 END), 0), " +
+           "COALESCE(SUM(CASE WHEN t.dueDate > :today AND t.dueDate <= :weekEnd THEN 1 ELSE 0 END), 0), " +
+           "COALESCE(SUM(CASE WHEN t.dueDate > :weekEnd THEN 1 ELSE 0 END), 0), " +
+           "COALESCE(SUM(CASE WHEN t.dueDate IS NULL THEN 1 ELSE 0 END), 0)) " +
+           "FROM Task t WHERE t.status <> com.taskio.model.TaskStatus.DONE AND " +
+           "(:searchTerm IS NULL OR LOWER(t.title) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR LOWER(t.description) LIKE LOWER(CONCAT('%', :searchTerm, '%'))) AND " +
+           "(:status IS NULL OR t.status = :status) AND " +
+           "(:startDate IS NULL OR t.dueDate >= :startDate) AND " +
+           "(:endDate IS NULL OR t.dueDate <= :endDate) AND " +
+           "(:category IS NULL OR t.category = :category)")
+    DueDateSummary summarizeOpenDueDatesFiltered(
+        @Param("searchTerm") String searchTerm,
+        @Param("status") TaskStatus status,
+        @Param("startDate") LocalDate startDate,
+        @Param("endDate") LocalDate endDate,
+        @Param("category") String category,
+        @Param("today") LocalDate today,
+        @Param("weekEnd") LocalDate weekEnd
+    );
 }
@@ -0,0 +1,15 @@
+package com.taskio.repository;
+
+import com.taskio.dto.TaskView;
+import com.taskio.model.Task;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+// Specification queries that select TaskView projections instead of managed entities
+public interface TaskViewRepository {
+    
+    // Tasks matching the specification in id order, at most limit of them
+    List<TaskView> findViews(Specification<Task> spec, Limit limit);
+}
@@ -0,0 +1,41 @@
+package com.taskio.repository;
+
+import com.taskio.dto.TaskView;
+import com.taskio.model.Task;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+public class TaskViewRepositoryImpl implements TaskViewRepository {
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Override
+    public List<TaskView> findViews(Specification<Task> spec, Limit limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TaskView> query = cb.createQuery(TaskView.class);
+        Root<Task> root = query.from(Task.class);
+        query.select(cb.construct(TaskView.class, root.get("id"), root.get("title"), root.get("description"),
+                root.get("status"), root.get("dueDate"), root.get("category"), root.get("version")));
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(cb.asc(root.get("id")));
+        
+        TypedQuery<TaskView> typedQuery = entityManager.createQuery(query);
+        if (limit.isLimited()) {
+            typedQuery.setMaxResults(limit.max());
+        }
+        return typedQuery.getResultList();
+    }
+}
@@ -0,0 +1,17 @@
+package com.taskio.repository;
+
+import com.taskio.dto.TaskPatch;
+import com.taskio.model.Task;
+
+import java.util.Optional;
+
+// Single-statement writes that report the row as it was before the change, without loading it first
+public interface TaskWriteRepository {
+    
+    // Updates only the columns set in the patch and bumps the version; empty when no task has the id,
+    // or when expectedVersion is given and the task is at a different version
+    Optional<Task> patchReturningPrevious(Long id, TaskPatch patch, Long expectedVersion);
+    
+    // Deletes the task; empty when no task has the id, or when expectedVersion is given and does not match
+    Optional<Task> deleteReturningPrevious(Long id, Long expectedVersion);
+}
@@ -0,0 +1,131 @@
+package com.taskio.repository;
+
+import com.taskio.dto.TaskPatch;
+import com.taskio.model.Task;
+import com.taskio.model.TaskStatus;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.query.NativeQuery;
+import org.hibernate.query.TypedParameterValue;
+import org.hibernate.type.StandardBasicTypes;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.StringJoiner;
+
+/**
+ * On H2, uses data change delta tables: {@code SELECT ... FROM OLD TABLE (UPDATE ...)} runs the
+ * UPDATE or DELETE and returns the affected row as it was before, in one statement. Other
+ * databases lack that syntax, so there the row is read with {@code SELECT ... FOR UPDATE} and
+ * changed while the lock is held: two statements, but the same result. The previous values keep
+ * the in-memory search index and category dictionary in sync, and an empty result means no row
+ * matched the id (and expected version, for conditional writes). Every update increments
+ * {@code version}, so these writes take part in the same optimistic locking as the JPA
+ * {@code @Version} updates of the batch endpoints.
+ */
+public class TaskWriteRepositoryImpl implements TaskWriteRepository {
+    
+    private static final String SELECT_ROW = "SELECT id, title, description, status, due_date, category, version FROM ";
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    private boolean deltaTables;
+    
+    @PostConstruct
+    void detectDialect() {
+        deltaTables = entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect() instanceof H2Dialect;
+    }
+    
+    @Override
+    @Transactional
+    public Optional<Task> patchReturningPrevious(Long id, TaskPatch patch, Long expectedVersion) {
+        StringJoiner assignments = new StringJoiner(", ");
+        assignments.add("version = version + 1");
+        List<Object> values = new ArrayList<>();
+        if (patch.title() != null) {
+            assignments.add("title = ?");
+            values.add(new TypedParameterValue<>(StandardBasicTypes.STRING, patch.title().orElse(null)));
+        }
+        if (patch.description() != null) {
+            assignments.add("description = ?");
+            values.add(new TypedParameterValue<>(StandardBasicTypes.STRING, patch.description().orElse(null)));
+        }
+        if (patch.status() != null) {
+            assignments.add("status = ?");
+            values.add(new TypedParameterValue<>(StandardBasicTypes.STRING, patch.status().map(Enum::name).orElse(null)));
+        }
+        if (patch.dueDate() != null) {
+            assignments.add("due_date = ?");
+            values.add(new TypedParameterValue<>(StandardBasicTypes.LOCAL_DATE, patch.dueDate().orElse(null)));
+        }
+        if (patch.category() != null) {
+            assignments.add("category = ?");
+            values.add(new TypedParameterValue<>(StandardBasicTypes.STRING, patch.category().orElse(null)));
+        }
+        return changeReturningPrevious("UPDATE tasks SET " + assignments + " WHERE ", values, id, expectedVersion);
+    }
+    
+    @Override
+    @Transactional
+    public Optional<Task> deleteReturningPrevious(Long id, Long expectedVersion) {
+        return changeReturningPrevious("DELETE FROM tasks WHERE ", new ArrayList<>(), id, expectedVersion);
+    }
+    
+    // Runs the change, which ends in "WHERE " and takes the given values, on the row with the id and expected version
+    private Optional<Task> changeReturningPrevious(String change, List<Object> values, Long id, Long expectedVersion) {
+        if (deltaTables) {
+            values.add(id);
+            return previousRow(SELECT_ROW + "OLD TABLE (" + change + matching(expectedVersion, values) + ")", values);
+        }
+        List<Object> key = new ArrayList<>(List.of(id));
+        Optional<Task> previous = previousRow(SELECT_ROW + "tasks WHERE " + matching(expectedVersion, key) + " FOR UPDATE", key);
+        if (previous.isPresent()) {
+            // The lock keeps the row at the version just read, so the id alone matches it
+            values.add(id);
+            Query update = entityManager.createNativeQuery(change + "id = ?");
+            for (int i = 0; i < values.size(); i++) {
+                update.setParameter(i + 1, values.get(i));
+            }
+            update.executeUpdate();
+        }
+        return previous;
+    }
+    
+    // The id has already been added to values; the expected version follows it
+    private static String matching(Long expectedVersion, List<Object> values) {
+        if (expectedVersion == null) {
+            return "id = ?";
+        }
+        values.add(expectedVersion);
+        return "id = ? AND version = ?";
+    }
+    
+    @SuppressWarnings("unchecked")
+    private Optional<Task> previousRow(String sql, List<Object> values) {
+        NativeQuery<Object[]> query = entityManager.createNativeQuery(sql)
+                .unwrap(NativeQuery.class)
+                .addScalar("id", StandardBasicTypes.LONG)
+                .addScalar("title", StandardBasicTypes.STRING)
+                .addScalar("description", StandardBasicTypes.STRING)
+                .addScalar("status", StandardBasicTypes.STRING)
+                .addScalar("due_date", StandardBasicTypes.LOCAL_DATE)
+                .addScalar("category", StandardBasicTypes.STRING)
+                .addScalar("version", StandardBasicTypes.LONG);
+        for (int i = 0; i < values.size(); i++) {
+            query.setParameter(i + 1, values.get(i));
+        }
+        return query.getResultList().stream()
+                .findFirst()
+                .map(row -> new Task((Long) row[0], (String) row[1], (String) row[2],
+                        TaskStatus.valueOf((String) row[3]), (LocalDate) row[4], (String) row[5], (Long) row[6]));
+    }
+}
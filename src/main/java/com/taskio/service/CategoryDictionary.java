@@ -0,0 +1,116 @@
+package com.taskio.service;
+
+import com.taskio.dto.CategoryCount;
+import com.taskio.model.Task;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * In-memory category to task count map, kept sorted by category name. It is seeded once at
+ * startup from the rows and adjusted by every write, so listing categories never touches the
+ * database. A category is dropped as soon as its count reaches zero.
+ * <p>
+ * Like the due-date index, it remembers the version and category each task was last written
+ * with, so the after-commit hooks of concurrent writes to the same task can run in either order:
+ * a write moves the task out of the category it is actually counted in, and a write of an older
+ * version, or one that is not newer than the version a task was deleted at, is ignored. Deleted
+ * tasks are remembered until they outnumber the counted ones, then forgotten in one sweep.
+ */
+@Component
+public class CategoryDictionary {
+
+    private static final long NO_VERSION = Long.MIN_VALUE;
+    private static final int MIN_DELETED_KEPT = 1024;
+
+    private final ConcurrentSkipListMap<String, Long> counts = new ConcurrentSkipListMap<>();
+
+    // Guarded by this; readers only look at counts
+    private final Map<Long, Written> written = new HashMap<>();
+    private int deleted;
+
+    public synchronized void clear() {
+        counts.clear();
+        written.clear();
+        deleted = 0;
+    }
+
+    public void putAll(Iterable<Task> tasks) {
+        for (Task task : tasks) {
+            put(task);
+        }
+    }
+
+    // Counts a created task, or moves an updated one to its current category
+    public void put(Task task) {
+        write(task.getId(), version(task), task.getCategory(), false);
+    }
+
+    // Stops counting the task, deleted at its version, the last one it had
+    public void remove(Task task) {
+        write(task.getId(), version(task), null, true);
+    }
+
+    public List<String> categories() {
+        return new ArrayList<>(counts.keySet());
+    }
+
+    public List<CategoryCount> counts() {
+        return counts.entrySet().stream()
+                .map(entry -> new CategoryCount(entry.getKey(), entry.getValue()))
+                .toList();
+    }
+
+    private synchronized void write(long id, long version, String category, boolean deletion) {
+        Written current = written.get(id);
+        if (current != null) {
+            if (current.isStale(version)) {
+                return;
+            }
+            if (current.deleted()) {
+                deleted--;
+            } else {
+                add(current.category(), -1);
+            }
+        }
+        written.put(id, new Written(version, category, deletion));
+        if (!deletion) {
+            add(category, 1);
+        } else if (++deleted > Math.max(MIN_DELETED_KEPT, written.size() - deleted)) {
+            written.values().removeIf(Written::deleted);
+            deleted = 0;
+        }
+    }
+
+    private void add(String category, long delta) {
+        if (category != null) {
+            counts.merge(category, delta, CategoryDictionary::sum);
+        }
+    }
+
+    // Returning null from merge removes the entry
+    private static Long sum(Long current, Long delta) {
+        long total = current + delta;
+        return total > 0 ? total : null;
+    }
+
+    private static long version(Task task) {
+        return task.getVersion() != null ? task.getVersion() : NO_VERSION;
+    }
+
+    // What was last written for a task: its version, and the category it is counted in unless deleted
+    private record Written(long version, String category, boolean deleted) {
+
+        // Without a version on either side (a task not read from the database) the write always applies
+        boolean isStale(long candidate) {
+            if (version == NO_VERSION || candidate == NO_VERSION) {
+                return false;
+            }
+            return deleted ? candidate <= version : candidate < version;
+        }
+    }
+}
@@ -0,0 +1,262 @@
+package com.taskio.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskio.dto.TaskChange;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fans task changes out to Server-Sent Events subscribers. Each change is serialized once and
+ * offered to a bounded queue per subscriber; publishing never blocks on a client. A subscriber
+ * is drained by a thread of a fixed-size pool only while it has queued events, so idle connections
+ * hold no thread. A subscriber whose queue overflows is too slow to keep up and is disconnected; it
+ * can reconnect and reload the task list. So is one whose send has been blocked for longer than a
+ * heartbeat interval, a client that stopped reading: it would otherwise hold a sender thread that
+ * the other subscribers need. Heartbeat comments keep idle connections open through proxies and
+ * detect clients that went away.
+ */
+@Component
+public class TaskChangeFeed {
+
+    static final String SUBSCRIBERS_METRIC = "taskio.stream.subscribers";
+    static final String DROPPED_METRIC = "taskio.stream.dropped";
+
+    @Value("${taskio.stream.buffer-size:2048}")
+    private int bufferSize;
+
+    @Value("${taskio.stream.heartbeat-interval:15s}")
+    private Duration heartbeatInterval;
+
+    @Value("${taskio.stream.timeout:30m}")
+    private Duration timeout;
+
+    @Value("${taskio.stream.sender-threads:8}")
+    private int senderThreads;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ObjectProvider<MeterRegistry> meterRegistry;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final AtomicLong sequence = new AtomicLong();
+    private ThreadPoolExecutor senders;
+    private final ScheduledExecutorService heartbeats =
+            Executors.newSingleThreadScheduledExecutor(daemonThreads("task-feed-heartbeat-"));
+    private Counter dropped;
+
+    @PostConstruct
+    void start() {
+        // A subscriber is queued at most once at a time, so the work queue never holds more
+        // entries than there are subscribers
+        senders = new ThreadPoolExecutor(senderThreads, senderThreads, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), daemonThreads("task-feed-"));
+        senders.allowCoreThreadTimeOut(true);
+        heartbeats.scheduleAtFixedRate(this::sendHeartbeat, heartbeatInterval.toMillis(),
+                heartbeatInterval.toMillis(), TimeUnit.MILLISECONDS);
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry != null) {
+            Gauge.builder(SUBSCRIBERS_METRIC, subscribers, Set::size)
+                    .description("Connected task event stream subscribers")
+                    .register(registry);
+            dropped = Counter.builder(DROPPED_METRIC)
+                    .description("Subscribers disconnected because they fell too far behind")
+                    .register(registry);
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        heartbeats.shutdownNow();
+        subscribers.forEach(Subscriber::close);
+        if (senders != null) {
+            senders.shutdown();
+        }
+    }
+
+    public SseEmitter subscribe() {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Subscriber subscriber = new Subscriber(emitter, bufferSize);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(error -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        return emitter;
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    public void publish(TaskChange change) {
+        publish(List.of(change));
+    }
+
+    public void publish(List<TaskChange> changes) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        for (TaskChange change : changes) {
+            Message message = new Message(change.type().eventName(), sequence.incrementAndGet(), serialize(change));
+            for (Subscriber subscriber : subscribers) {
+                subscriber.offer(message);
+            }
+        }
+    }
+
+    void sendHeartbeat() {
+        long now = System.nanoTime();
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.isStalled(now, heartbeatInterval.toNanos())) {
+                subscriber.drop();
+            } else {
+                subscriber.offer(Message.HEARTBEAT);
+            }
+        }
+    }
+
+    private String serialize(TaskChange change) {
+        try {
+            return objectMapper.writeValueAsString(change);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize task change " + change.id(), e);
+        }
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    // An event already rendered to JSON, or a heartbeat comment when name is null
+    private record Message(String name, long id, String data) {
+
+        static final Message HEARTBEAT = new Message(null, 0, null);
+
+        SseEmitter.SseEventBuilder toEvent() {
+            if (name == null) {
+                return SseEmitter.event().comment("heartbeat");
+            }
+            return SseEmitter.event()
+                    .id(Long.toString(id))
+                    .name(name)
+                    .data(data, MediaType.APPLICATION_JSON);
+        }
+    }
+
+    private final class Subscriber implements Runnable {
+
+        private final SseEmitter emitter;
+        private final BlockingQueue<Message> queue;
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private volatile boolean closed;
+        // System.nanoTime() when the send in progress started, 0 while not sending
+        private volatile long sendingSince;
+
+        Subscriber(SseEmitter emitter, int capacity) {
+            this.emitter = emitter;
+            this.queue = new LinkedBlockingQueue<>(capacity);
+        }
+
+        void offer(Message message) {
+            if (closed) {
+                return;
+            }
+            if (!queue.offer(message)) {
+                drop();
+                return;
+            }
+            schedule();
+        }
+
+        boolean isStalled(long now, long maxSendNanos) {
+            long since = sendingSince;
+            return since != 0 && now - since > maxSendNanos;
+        }
+
+        // Disconnects a subscriber that cannot keep up; a send blocked on it completes or fails
+        // when the container's write times out, and the emitter is completed then
+        void drop() {
+            if (closed) {
+                return;
+            }
+            queue.clear();
+            if (dropped != null) {
+                dropped.increment();
+            }
+            close();
+        }
+
+        // The emitter may be blocked in a send to this client, so it is completed by the sender
+        // thread rather than by the caller
+        void close() {
+            closed = true;
+            subscribers.remove(this);
+            schedule();
+        }
+
+        private void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                senders.execute(this);
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                Message message;
+                while (!closed && (message = queue.poll()) != null) {
+                    sendingSince = System.nanoTime();
+                    emitter.send(message.toEvent());
+                    sendingSince = 0;
+                }
+            } catch (IOException | IllegalStateException e) {
+                // The client went away and the container completes the emitter; stays scheduled
+                // so that it is never drained again
+                sendingSince = 0;
+                closed = true;
+                subscribers.remove(this);
+                return;
+            }
+            if (closed) {
+                emitter.complete();
+                return;
+            }
+            scheduled.set(false);
+            if (closed || !queue.isEmpty()) {
+                schedule();
+            }
+        }
+    }
+}
@@ -0,0 +1,324 @@
+package com.taskio.service;
+
+import com.taskio.model.Task;
+import com.taskio.model.TaskStatus;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Columnar in-memory mirror of the filterable task columns, for evaluating status, due date and
+ * category filters without loading entities.
+ * <p>
+ * Rows are kept sorted by id in parallel primitive arrays: {@code long} ids, {@code int} epoch-day
+ * due dates, {@code byte} status ordinals, {@code int} category codes from a dictionary and
+ * {@code long} row versions, about 25 bytes per task. A filter scan reads the arrays sequentially and
+ * tests only primitives. Deleted rows are marked and compacted away once they make up a quarter of
+ * the rows, so a batch delete does not shift the arrays once per task.
+ * <p>
+ * The service only mirrors committed writes, but the after-commit hooks of concurrent writes to the
+ * same task can run in either order. Each row keeps the version it was written at, and a write of an
+ * older version is ignored, as is one that is not newer than the version a row was deleted at, for
+ * as long as the deleted row has not been compacted away.
+ */
+public class TaskColumnStore {
+
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int NO_DUE_DATE = Integer.MIN_VALUE;
+    private static final int NO_CATEGORY = -1;
+    private static final byte DELETED = -1;
+    private static final long NO_VERSION = Long.MIN_VALUE;
+
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private int[] dueDays = new int[INITIAL_CAPACITY];
+    private byte[] statuses = new byte[INITIAL_CAPACITY];
+    private int[] categories = new int[INITIAL_CAPACITY];
+    private long[] versions = new long[INITIAL_CAPACITY];
+    private int size;
+    private int deleted;
+
+    // Category codes are never reused, so a code stays valid while rows still refer to it
+    private final Map<String, Integer> categoryCodes = new HashMap<>();
+    private final List<String> categoryNames = new ArrayList<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            size = 0;
+            deleted = 0;
+            categoryCodes.clear();
+            categoryNames.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Inserts the task's row, or overwrites it if the id is present at an older version
+    public void put(Task task) {
+        lock.writeLock().lock();
+        try {
+            putRow(task);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void putAll(Iterable<Task> tasks) {
+        lock.writeLock().lock();
+        try {
+            for (Task task : tasks) {
+                putRow(task);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Marks the task's row deleted at the task's version, the last one it had
+    public void remove(Task task) {
+        lock.writeLock().lock();
+        try {
+            int row = Arrays.binarySearch(ids, 0, size, task.getId());
+            if (row >= 0 && statuses[row] != DELETED) {
+                statuses[row] = DELETED;
+                versions[row] = Math.max(versions[row], version(task));
+                deleted++;
+                if (deleted > size / 4) {
+                    compact();
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size - deleted;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns, in ascending order, the ids after {@code afterId} of up to {@code maxResults} tasks
+     * matching every non-null filter. As in the database, a task without a due date never matches
+     * a date filter.
+     */
+    public long[] matchingIds(TaskStatus status, LocalDate startDate, LocalDate endDate, String category,
+                              long afterId, int maxResults) {
+        lock.readLock().lock();
+        try {
+            Filter filter = filter(status, startDate, endDate, category);
+            if (filter == null) {
+                return new long[0];
+            }
+            int from = Arrays.binarySearch(ids, 0, size, afterId);
+            from = from >= 0 ? from + 1 : -from - 1;
+            long[] result = new long[Math.min(maxResults, size - from)];
+            int count = 0;
+            for (int row = from; row < size && count < result.length; row++) {
+                // Written unconditionally and kept only on a match, to avoid a branch per row
+                result[count] = ids[row];
+                count += filter.matches(row) ? 1 : 0;
+            }
+            return count == result.length ? result : Arrays.copyOf(result, count);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Keeps the candidate ids (ascending, e.g. from the search index) whose rows match the filters
+    public long[] retainMatching(long[] candidates, TaskStatus status, LocalDate startDate, LocalDate endDate,
+                                 String category) {
+        lock.readLock().lock();
+        try {
+            Filter filter = filter(status, startDate, endDate, category);
+            if (filter == null) {
+                return new long[0];
+            }
+            long[] result = new long[candidates.length];
+            int count = 0;
+            int from = 0;
+            for (long id : candidates) {
+                int row = Arrays.binarySearch(ids, from, size, id);
+                if (row < 0) {
+                    from = -row - 1;
+                    continue;
+                }
+                from = row + 1;
+                if (filter.matches(row)) {
+                    result[count++] = id;
+                }
+            }
+            return Arrays.copyOf(result, count);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Heap held by the columns and the category dictionary, including spare capacity
+    public long estimatedSizeBytes() {
+        lock.readLock().lock();
+        try {
+            long bytes = (long) ids.length * (Long.BYTES + Integer.BYTES + Byte.BYTES + Integer.BYTES + Long.BYTES);
+            for (String name : categoryNames) {
+                // String and array headers plus the entries in the map and the list
+                bytes += 96 + name.length();
+            }
+            return bytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void putRow(Task task) {
+        long id = task.getId();
+        long version = version(task);
+        int row = Arrays.binarySearch(ids, 0, size, id);
+        if (row < 0) {
+            row = -row - 1;
+            insertAt(row, id);
+        } else if (isStale(row, version)) {
+            return;
+        } else if (statuses[row] == DELETED) {
+            deleted--;
+        }
+        versions[row] = version;
+        dueDays[row] = task.getDueDate() != null ? Math.toIntExact(task.getDueDate().toEpochDay()) : NO_DUE_DATE;
+        statuses[row] = (byte) task.getStatus().ordinal();
+        categories[row] = task.getCategory() != null ? categoryCode(task.getCategory()) : NO_CATEGORY;
+    }
+
+    // Without a version on either side (a task not read from the database) the write always applies
+    private boolean isStale(int row, long version) {
+        long current = versions[row];
+        if (current == NO_VERSION || version == NO_VERSION) {
+            return false;
+        }
+        return statuses[row] == DELETED ? version <= current : version < current;
+    }
+
+    private static long version(Task task) {
+        return task.getVersion() != null ? task.getVersion() : NO_VERSION;
+    }
+
+    // Ids mostly arrive in ascending order, so this is usually an append
+    private void insertAt(int row, long id) {
+        if (size == ids.length) {
+            int capacity = size * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            dueDays = Arrays.copyOf(dueDays, capacity);
+            statuses = Arrays.copyOf(statuses, capacity);
+            categories = Arrays.copyOf(categories, capacity);
+            versions = Arrays.copyOf(versions, capacity);
+        }
+        int moved = size - row;
+        if (moved > 0) {
+            System.arraycopy(ids, row, ids, row + 1, moved);
+            System.arraycopy(dueDays, row, dueDays, row + 1, moved);
+            System.arraycopy(statuses, row, statuses, row + 1, moved);
+            System.arraycopy(categories, row, categories, row + 1, moved);
+            System.arraycopy(versions, row, versions, row + 1, moved);
+        }
+        ids[row] = id;
+        size++;
+    }
+
+    private void compact() {
+        int live = 0;
+        for (int row = 0; row < size; row++) {
+            if (statuses[row] != DELETED) {
+                ids[live] = ids[row];
+                dueDays[live] = dueDays[row];
+                statuses[live] = statuses[row];
+                categories[live] = categories[row];
+                versions[live] = versions[row];
+                live++;
+            }
+        }
+        size = live;
+        deleted = 0;
+    }
+
+    private int categoryCode(String category) {
+        Integer code = categoryCodes.get(category);
+        if (code == null) {
+            code = categoryNames.size();
+            categoryCodes.put(category, code);
+            categoryNames.add(category);
+        }
+        return code;
+    }
+
+    // Resolves the filters to column values; null when no row can match
+    private Filter filter(TaskStatus status, LocalDate startDate, LocalDate endDate, String category) {
+        int categoryCode = NO_CATEGORY;
+        if (category != null) {
+            Integer code = categoryCodes.get(category);
+            if (code == null) {
+                return null;
+            }
+            categoryCode = code;
+        }
+        // Without a date filter every due day is in range, including NO_DUE_DATE
+        int from = Integer.MIN_VALUE;
+        int to = Integer.MAX_VALUE;
+        if (startDate != null || endDate != null) {
+            from = startDate != null ? (int) Math.max(startDate.toEpochDay(), NO_DUE_DATE + 1L) : NO_DUE_DATE + 1;
+            to = endDate != null ? (int) Math.min(endDate.toEpochDay(), Integer.MAX_VALUE) : Integer.MAX_VALUE;
+        }
+        return new Filter(statuses, dueDays, categories, status != null ? (byte) status.ordinal() : DELETED, from, to,
+                categoryCode);
+    }
+
+    /**
+     * Holds the current arrays, so it must not outlive the read lock it was created under. A
+     * status of DELETED or a category of NO_CATEGORY means that column is not filtered on. The
+     * columns are combined with non-short-circuit operators: on unsorted data each test passes
+     * or fails at random, and one well-predicted branch per row is cheaper than several
+     * mispredicted ones.
+     */
+    private static final class Filter {
+
+        private final byte[] statuses;
+        private final int[] dueDays;
+        private final int[] categories;
+        private final byte status;
+        private final boolean anyStatus;
+        private final int from;
+        private final int to;
+        private final int category;
+        private final boolean anyCategory;
+
+        Filter(byte[] statuses, int[] dueDays, int[] categories, byte status, int from, int to, int category) {
+            this.statuses = statuses;
+            this.dueDays = dueDays;
+            this.categories = categories;
+            this.status = status;
+            this.anyStatus = status == DELETED;
+            this.from = from;
+            this.to = to;
+            this.category = category;
+            this.anyCategory = category == NO_CATEGORY;
+        }
+
+        boolean matches(int row) {
+            byte rowStatus = statuses[row];
+            int dueDay = dueDays[row];
+            return rowStatus != DELETED
+                    & (anyStatus | rowStatus == status)
+                    & (anyCategory | categories[row] == category)
+                    & dueDay >= from
+                    & dueDay <= to;
+        }
+    }
+}
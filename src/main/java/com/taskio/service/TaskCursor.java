@@ -0,0 +1,35 @@
+package com.taskio.service;
+
+import com.taskio.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque keyset cursor. Pages are ordered by id, so the cursor carries the sort key name
+ * and the last id seen; clients must treat the encoded value as opaque.
+ */
+final class TaskCursor {
+
+    private static final String ID_SORT_KEY = "id:";
+
+    private TaskCursor() {
+    }
+
+    static String encode(long lastId) {
+        byte[] raw = (ID_SORT_KEY + lastId).getBytes(StandardCharsets.UTF_8);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw);
+    }
+
+    static long decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!raw.startsWith(ID_SORT_KEY)) {
+                throw new InvalidCursorException(cursor);
+            }
+            return Long.parseLong(raw.substring(ID_SORT_KEY.length()));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException(cursor);
+        }
+    }
+}
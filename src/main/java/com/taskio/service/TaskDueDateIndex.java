@@ -0,0 +1,149 @@
+package com.taskio.service;
+
+import com.taskio.model.Task;
+import com.taskio.model.TaskStatus;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * In-memory index of open tasks (not {@code DONE}) that have a due date, ordered by due date and
+ * then by id.
+ * <p>
+ * Backed by a skip list, so each write is O(log n), and the first K tasks due before a date or
+ * within a date range are found in O(log n + K) without scanning or sorting. Completed tasks
+ * and tasks without a due date are not indexed, since the due-date views never show them.
+ * <p>
+ * The service only indexes committed writes, but the after-commit hooks of concurrent writes to the
+ * same task can run in either order. The index remembers the version and due date each task was
+ * last written with, so it removes the entry it actually holds and ignores a write of an older
+ * version, or one that is not newer than the version a task was deleted at. Tasks without an entry
+ * are remembered until they outnumber the indexed ones, then forgotten in one sweep.
+ */
+@Component
+public class TaskDueDateIndex {
+
+    private static final long NOT_INDEXED = Long.MIN_VALUE;
+    private static final long NO_VERSION = Long.MIN_VALUE;
+    private static final int MIN_UNINDEXED_KEPT = 1024;
+
+    private final ConcurrentSkipListSet<Entry> entries = new ConcurrentSkipListSet<>();
+
+    // Guarded by this; readers only look at entries
+    private final Map<Long, Written> written = new HashMap<>();
+    private int unindexed;
+
+    public synchronized void clear() {
+        entries.clear();
+        written.clear();
+        unindexed = 0;
+    }
+
+    public void addAll(Iterable<Task> tasks) {
+        for (Task task : tasks) {
+            add(task);
+        }
+    }
+
+    public void add(Task task) {
+        write(task.getId(), version(task), isIndexed(task) ? task.getDueDate().toEpochDay() : NOT_INDEXED, false);
+    }
+
+    // Re-indexes a task whose status or due date may have changed
+    public void update(Task task) {
+        add(task);
+    }
+
+    // Drops the task, deleted at its version, the last one it had
+    public void remove(Task task) {
+        write(task.getId(), version(task), NOT_INDEXED, true);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    // Ids of up to limit open tasks due before the date, earliest due date first
+    public long[] dueBefore(LocalDate date, int limit) {
+        return first(entries.headSet(new Entry(date.toEpochDay(), Long.MIN_VALUE), false), limit);
+    }
+
+    // Ids of up to limit open tasks due between the dates (inclusive), earliest due date first
+    public long[] dueBetween(LocalDate from, LocalDate to, int limit) {
+        if (from.isAfter(to)) {
+            return new long[0];
+        }
+        return first(entries.subSet(new Entry(from.toEpochDay(), Long.MIN_VALUE), true,
+                new Entry(to.toEpochDay(), Long.MAX_VALUE), true), limit);
+    }
+
+    private synchronized void write(long id, long version, long epochDay, boolean deletion) {
+        Written current = written.get(id);
+        if (current != null) {
+            if (current.isStale(version)) {
+                return;
+            }
+            if (current.epochDay() != NOT_INDEXED) {
+                entries.remove(new Entry(current.epochDay(), id));
+            } else {
+                unindexed--;
+            }
+        }
+        written.put(id, new Written(version, epochDay, deletion));
+        if (epochDay != NOT_INDEXED) {
+            entries.add(new Entry(epochDay, id));
+        } else if (++unindexed > Math.max(MIN_UNINDEXED_KEPT, written.size() - unindexed)) {
+            written.values().removeIf(entry -> entry.epochDay() == NOT_INDEXED);
+            unindexed = 0;
+        }
+    }
+
+    private static long[] first(NavigableSet<Entry> range, int limit) {
+        long[] ids = new long[Math.min(limit, 64)];
+        int count = 0;
+        for (Entry entry : range) {
+            if (count == limit) {
+                break;
+            }
+            if (count == ids.length) {
+                ids = Arrays.copyOf(ids, Math.min(limit, count * 2));
+            }
+            ids[count++] = entry.id();
+        }
+        return count == ids.length ? ids : Arrays.copyOf(ids, count);
+    }
+
+    private static boolean isIndexed(Task task) {
+        return task.getStatus() != TaskStatus.DONE && task.getDueDate() != null;
+    }
+
+    private static long version(Task task) {
+        return task.getVersion() != null ? task.getVersion() : NO_VERSION;
+    }
+
+    private record Entry(long epochDay, long id) implements Comparable<Entry> {
+
+        @Override
+        public int compareTo(Entry other) {
+            int byDay = Long.compare(epochDay, other.epochDay);
+            return byDay != 0 ? byDay : Long.compare(id, other.id);
+        }
+    }
+
+    // What was last written for a task: its version, and its entry's due day unless it has none
+    private record Written(long version, long epochDay, boolean deleted) {
+
+        // Without a version on either side (a task not read from the database) the write always applies
+        boolean isStale(long candidate) {
+            if (version == NO_VERSION || candidate == NO_VERSION) {
+                return false;
+            }
+            return deleted ? candidate <= version : candidate < version;
+        }
+    }
+}
@@ -0,0 +1,291 @@
+package com.taskio.service;
+
+import com.taskio.model.Task;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory trigram inverted index over task titles and descriptions.
+ * <p>
+ * Each lower-cased trigram maps to a sorted list of task ids containing it. A lookup intersects
+ * the posting lists of the search term's trigrams, so its cost follows the number of candidates
+ * rather than the table size. Results are candidates only: a task can contain every trigram of
+ * the term without containing the term itself, so callers must verify matches.
+ * <p>
+ * The index also remembers the version, title and description each task was indexed with. An
+ * update only touches the posting lists of trigrams that were added or removed, and one that
+ * arrives after a newer version of the same task was indexed (concurrent writes whose after-commit
+ * hooks ran out of order) is ignored.
+ */
+@Component
+public class TaskSearchIndex {
+
+    public static final int GRAM_LENGTH = 3;
+
+    private final Map<Long, PostingList> postings = new HashMap<>();
+    private final Map<Long, IndexedText> indexed = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public static boolean isIndexable(String searchTerm) {
+        return searchTerm != null && searchTerm.length() >= GRAM_LENGTH;
+    }
+
+    public static boolean matches(Task task, String searchTerm) {
+        return matches(task.getTitle(), task.getDescription(), searchTerm);
+    }
+    
+    public static boolean matches(String title, String description, String searchTerm) {
+        String term = searchTerm.toLowerCase(Locale.ROOT);
+        return contains(title, term) || contains(description, term);
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            indexed.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void addAll(Iterable<Task> tasks) {
+        lock.writeLock().lock();
+        try {
+            for (Task task : tasks) {
+                index(task);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void add(Task task) {
+        update(task);
+    }
+
+    /**
+     * Re-indexes a task that may have changed, against the text it was last indexed with. Does
+     * nothing if a newer version of the task is already indexed.
+     */
+    public void update(Task task) {
+        lock.writeLock().lock();
+        try {
+            index(task);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            IndexedText previous = indexed.remove(id);
+            if (previous != null) {
+                for (long trigram : trigrams(previous.title(), previous.description())) {
+                    removePosting(trigram, id);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the ids, in ascending order, of tasks whose title or description contains every
+     * trigram of the search term. The term must be at least {@link #GRAM_LENGTH} characters long.
+     */
+    public long[] candidates(String searchTerm) {
+        if (!isIndexable(searchTerm)) {
+            throw new IllegalArgumentException("Search term is too short for the trigram index: " + searchTerm);
+        }
+        String term = searchTerm.toLowerCase(Locale.ROOT);
+
+        lock.readLock().lock();
+        try {
+            List<PostingList> lists = new ArrayList<>();
+            for (int i = 0; i + GRAM_LENGTH <= term.length(); i++) {
+                PostingList list = postings.get(trigram(term, i));
+                if (list == null) {
+                    return new long[0];
+                }
+                lists.add(list);
+            }
+            lists.sort(Comparator.comparingInt(PostingList::size));
+            return intersect(lists);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static long[] intersect(List<PostingList> lists) {
+        PostingList smallest = lists.get(0);
+        long[] result = new long[smallest.size()];
+        int count = 0;
+        for (int i = 0; i < smallest.size(); i++) {
+            long id = smallest.get(i);
+            boolean inAll = true;
+            for (int j = 1; j < lists.size() && inAll; j++) {
+                inAll = lists.get(j).contains(id);
+            }
+            if (inAll) {
+                result[count++] = id;
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    // Caller holds the write lock
+    private void index(Task task) {
+        Long id = task.getId();
+        if (id == null) {
+            return;
+        }
+        IndexedText previous = indexed.get(id);
+        if (previous != null && previous.isNewerThan(task.getVersion())) {
+            return;
+        }
+        indexed.put(id, new IndexedText(task.getVersion(), task.getTitle(), task.getDescription()));
+        if (previous != null && Objects.equals(previous.title(), task.getTitle())
+                && Objects.equals(previous.description(), task.getDescription())) {
+            return;
+        }
+
+        long[] before = previous == null ? new long[0] : trigrams(previous.title(), previous.description());
+        long[] after = trigrams(task.getTitle(), task.getDescription());
+        // Both arrays are sorted: walk them together, touching only trigrams that are in one of them
+        int i = 0;
+        int j = 0;
+        while (i < before.length || j < after.length) {
+            if (j == after.length || (i < before.length && before[i] < after[j])) {
+                removePosting(before[i++], id);
+            } else if (i == before.length || after[j] < before[i]) {
+                postings.computeIfAbsent(after[j++], key -> new PostingList()).add(id);
+            } else {
+                i++;
+                j++;
+            }
+        }
+    }
+
+    private void removePosting(long trigram, long id) {
+        PostingList list = postings.get(trigram);
+        if (list != null && list.remove(id) && list.size() == 0) {
+            postings.remove(trigram);
+        }
+    }
+
+    // Distinct trigrams of the lower-cased title and description, in ascending order
+    private static long[] trigrams(String title, String description) {
+        String normalizedTitle = normalize(title);
+        String normalizedDescription = normalize(description);
+        long[] result = new long[count(normalizedTitle) + count(normalizedDescription)];
+        int size = collect(normalizedTitle, result, 0);
+        size = collect(normalizedDescription, result, size);
+        Arrays.sort(result, 0, size);
+        int distinct = 0;
+        for (int i = 0; i < size; i++) {
+            if (distinct == 0 || result[distinct - 1] != result[i]) {
+                result[distinct++] = result[i];
+            }
+        }
+        return Arrays.copyOf(result, distinct);
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.toLowerCase(Locale.ROOT);
+    }
+
+    private static int count(String text) {
+        return Math.max(0, text.length() - GRAM_LENGTH + 1);
+    }
+
+    private static int collect(String text, long[] into, int from) {
+        int size = from;
+        for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+            into[size++] = trigram(text, i);
+        }
+        return size;
+    }
+
+    private static long trigram(String text, int offset) {
+        return ((long) text.charAt(offset) << 32)
+                | ((long) text.charAt(offset + 1) << 16)
+                | text.charAt(offset + 2);
+    }
+
+    private static boolean contains(String text, String lowerCaseTerm) {
+        return text != null && text.toLowerCase(Locale.ROOT).contains(lowerCaseTerm);
+    }
+
+    // A null version (a task not read from the database) is never considered newer or older
+    private record IndexedText(Long version, String title, String description) {
+
+        boolean isNewerThan(Long otherVersion) {
+            return version != null && otherVersion != null && version > otherVersion;
+        }
+    }
+
+    /**
+     * Sorted, duplicate-free list of task ids backed by a primitive array. Ids are mostly
+     * appended in ascending order, which keeps inserts O(1) in the common case.
+     */
+    static final class PostingList {
+
+        private long[] ids = new long[4];
+        private int size;
+
+        int size() {
+            return size;
+        }
+
+        long get(int index) {
+            return ids[index];
+        }
+
+        boolean contains(long id) {
+            return Arrays.binarySearch(ids, 0, size, id) >= 0;
+        }
+
+        void add(long id) {
+            if (size > 0 && ids[size - 1] >= id) {
+                int pos = Arrays.binarySearch(ids, 0, size, id);
+                if (pos >= 0) {
+                    return;
+                }
+                insertAt(-pos - 1, id);
+                return;
+            }
+            insertAt(size, id);
+        }
+
+        boolean remove(long id) {
+            int pos = Arrays.binarySearch(ids, 0, size, id);
+            if (pos < 0) {
+                return false;
+            }
+            System.arraycopy(ids, pos + 1, ids, pos, size - pos - 1);
+            size--;
+            return true;
+        }
+
+        private void insertAt(int pos, long id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(ids, pos, ids, pos + 1, size - pos);
+            ids[pos] = id;
+            size++;
+        }
+    }
+}
@@ -1,69 +1,427 @@
 package com.taskio.service;
 
+import com.taskio.config.CacheConfig;
+import com.taskio.dto.BatchItemResult;
+import com.taskio.dto.CategoryCount;
+import com.taskio.dto.DueDateSummary;
+import com.taskio.dto.StatusCount;
+import com.taskio.dto.TaskChange;
+import com.taskio.dto.TaskCacheStats;
+import com.taskio.dto.TaskPage;
+import com.taskio.dto.TaskPatch;
+import com.taskio.dto.TaskStats;
+import com.taskio.dto.TaskView;
+import com.taskio.exception.BatchSizeExceededException;
+import com.taskio.exception.TaskNotFoundException;
+import com.taskio.exception.TaskVersionConflictException;
+import com.taskio.journal.TaskJournal;
 import com.taskio.model.Task;
 import com.taskio.model.TaskStatus;
+import com.taskio.repository.TaskFilter;
 import com.taskio.repository.TaskRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Duration;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class TaskService {
     
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 500;
+    public static final int MAX_BATCH_SIZE = 1000;
+    public static final int DEFAULT_DUE_SOON_DAYS = 7;
+    public static final int MAX_DUE_SOON_DAYS = 365;
+    
+    // Number of tasks loaded per query when rebuilding indexes or fetching index candidates
+    private static final int LOAD_CHUNK_SIZE = 1000;
+    
+    // Bumped after every committed write; the epoch distinguishes versions issued before a restart
+    private final String dataVersionEpoch = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong dataVersion = new AtomicLong();
+    
     @Autowired
     private TaskRepository taskRepository;
     
-    public List<Task> getAllTasks() {
-        return taskRepository.findAll();
+    @Autowired
+    private TaskSearchIndex searchIndex;
+    
+    @Autowired
+    private CategoryDictionary categoryDictionary;
+    
+    @Autowired
+    private TaskDueDateIndex dueDateIndex;
+    
+    @Autowired
+    private TaskChangeFeed changeFeed;
+    
+    @Autowired
+    private TaskJournal journal;
+    
+    @Autowired
+    private Validator validator;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Autowired
+    private CacheManager cacheManager;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    // Opt-in group commit for createTask, see TaskWritePipeline
+    @Value("${taskio.write-pipeline.enabled:false}")
+    private boolean writePipelineEnabled;
+    
+    @Value("${taskio.write-pipeline.max-batch-size:100}")
+    private int writePipelineMaxBatchSize;
+    
+    @Value("${taskio.write-pipeline.max-delay:2ms}")
+    private Duration writePipelineMaxDelay;
+    
+    @Value("${taskio.write-pipeline.queue-capacity:10000}")
+    private int writePipelineQueueCapacity;
+    
+    private TaskWritePipeline writePipeline;
+    
+    // Opt-in columnar mirror for status, due date and category filters, see TaskColumnStore
+    @Value("${taskio.column-store.enabled:false}")
+    private boolean columnStoreEnabled;
+    
+    private TaskColumnStore columnStore;
+    
+    @PostConstruct
+    void start() {
+        if (columnStoreEnabled) {
+            columnStore = new TaskColumnStore();
+        }
+        buildIndexes();
+        if (writePipelineEnabled) {
+            writePipeline = new TaskWritePipeline(writePipelineMaxBatchSize, writePipelineMaxDelay,
+                    writePipelineQueueCapacity, this::insertBatch);
+        }
+    }
+    
+    @PreDestroy
+    void stop() {
+        if (writePipeline != null) {
+            writePipeline.close();
+        }
+    }
+    
+    void buildIndexes() {
+        categoryDictionary.clear();
+        searchIndex.clear();
+        dueDateIndex.clear();
+        if (columnStore != null) {
+            columnStore.clear();
+        }
+        long afterId = 0L;
+        List<Task> chunk;
+        do {
+            chunk = taskRepository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(LOAD_CHUNK_SIZE));
+            searchIndex.addAll(chunk);
+            dueDateIndex.addAll(chunk);
+            categoryDictionary.putAll(chunk);
+            mirror(chunk);
+            if (!chunk.isEmpty()) {
+                afterId = chunk.get(chunk.size() - 1).getId();
+            }
+        } while (chunk.size() == LOAD_CHUNK_SIZE);
+    }
+    
+    /**
+     * Returns a tag that changes whenever any task is created, updated or deleted. It is
+     * incremented only after the write commits, so a tag read before a query never describes
+     * data older than the query result.
+     */
+    public String getDataVersionTag() {
+        return dataVersionEpoch + "-" + dataVersion.get();
+    }
+    
+    // List reads run in read-only transactions and return TaskView projections; only the detail
+    // and write paths load managed Task entities
+    @Transactional(readOnly = true)
+    public List<TaskView> getAllTasks() {
+        return taskRepository.findAllViews();
+    }
+    
+    @Transactional(readOnly = true)
+    public TaskPage getTasksPage(String after, Integer limit) {
+        int pageSize = pageSize(limit);
+        List<TaskView> tasks = taskRepository.findViewsByIdGreaterThan(afterId(after), Limit.of(pageSize + 1));
+        return toPage(tasks, pageSize);
     }
     
+    /**
+     * Writes every task as newline-delimited JSON. Rows are streamed from the database and
+     * detached once written, so memory use does not grow with the table size.
+     */
+    @Transactional(readOnly = true)
+    public long exportTasks(OutputStream out) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(Task.class);
+        long count = 0;
+        try (Stream<Task> tasks = taskRepository.streamAll()) {
+            Iterator<Task> iterator = tasks.iterator();
+            while (iterator.hasNext()) {
+                Task task = iterator.next();
+                out.write(writer.writeValueAsBytes(task));
+                out.write('\n');
+                entityManager.detach(task);
+                count++;
+            }
+        }
+        out.flush();
+        return count;
+    }
+    
+    @Cacheable(cacheNames = CacheConfig.TASKS_CACHE, unless = "#result == null")
+    @Transactional(readOnly = true)
     public Optional<Task> getTaskById(Long id) {
         return taskRepository.findById(id);
     }
     
+    @Transactional(readOnly = true)
+    public List<TaskView> getTasksByIds(List<Long> ids) {
+        checkBatchSize(ids.size());
+        List<TaskView> tasks = new ArrayList<>(taskRepository.findViewsByIdIn(ids));
+        tasks.sort(Comparator.comparing(TaskView::id));
+        return tasks;
+    }
+    
     public Task createTask(Task task) {
-        return taskRepository.save(task);
+        // Ids are assigned on insert; a client-sent id would make save() treat the task as detached
+        task.setId(null);
+        if (writePipeline != null) {
+            try {
+                return writePipeline.submit(task).join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw e;
+            } catch (RejectedExecutionException e) {
+                // Queue full or shutting down: commit this task on its own
+            }
+        }
+        Task saved = taskRepository.save(task);
+        indexCreated(List.of(saved));
+        bumpDataVersion();
+        publishAfterCommit(List.of(TaskChange.created(saved)));
+        return saved;
     }
     
-    public Task updateTask(Long id, Task taskDetails) {
-        Task task = taskRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Task not found with id: " + id));
+    /**
+     * Updates and deletes are optimistic: when {@code expectedVersion} is given (from the
+     * client's {@code If-Match}), the write only applies if the task is still at that version,
+     * and a {@link TaskVersionConflictException} is thrown otherwise. A null expected version
+     * writes unconditionally. No lock is held between the client's read and its write.
+     */
+    @CacheEvict(cacheNames = CacheConfig.TASKS_CACHE, key = "#id")
+    public Task updateTask(Long id, Task taskDetails, Long expectedVersion) {
+        return patchTask(id, TaskPatch.replacing(taskDetails), expectedVersion);
+    }
+    
+    /**
+     * Applies the patch with a single UPDATE of the changed columns; the task is not loaded
+     * first. The returned task is built from the row's previous values with the patch applied.
+     */
+    @CacheEvict(cacheNames = CacheConfig.TASKS_CACHE, key = "#id")
+    public Task patchTask(Long id, TaskPatch patch, Long expectedVersion) {
+        if (patch.isEmpty()) {
+            Task task = taskRepository.findById(id)
+                    .orElseThrow(() -> new TaskNotFoundException(id));
+            if (expectedVersion != null && !expectedVersion.equals(task.getVersion())) {
+                throw versionConflict(id);
+            }
+            return task;
+        }
+        Task task = taskRepository.patchReturningPrevious(id, patch, expectedVersion)
+                .orElseThrow(() -> writeFailure(id, expectedVersion));
         
-        task.setTitle(taskDetails.getTitle());
-        task.setDescription(taskDetails.getDescription());
-        task.setStatus(taskDetails.getStatus());
-        task.setDueDate(taskDetails.getDueDate());
-        task.setCategory(taskDetails.getCategory());
+        patch.applyTo(task);
+        task.setVersion(task.getVersion() + 1);
+        
+        indexUpdated(List.of(task));
+        bumpDataVersion();
+        publishAfterCommit(List.of(TaskChange.updated(task)));
+        return task;
+    }
+    
+    @CacheEvict(cacheNames = CacheConfig.TASKS_CACHE, key = "#id")
+    public void deleteTask(Long id, Long expectedVersion) {
+        Task task = taskRepository.deleteReturningPrevious(id, expectedVersion)
+                .orElseThrow(() -> writeFailure(id, expectedVersion));
+        indexDeleted(List.of(task));
+        bumpDataVersion();
+        publishAfterCommit(List.of(TaskChange.deleted(id)));
+    }
+    
+    // Batch methods: each runs in a single transaction and reports a result per item
+    @Transactional
+    public List<BatchItemResult> createTasks(List<Task> tasks) {
+        checkBatchSize(tasks.size());
+        BatchItemResult[] results = new BatchItemResult[tasks.size()];
+        List<Task> valid = new ArrayList<>();
+        List<Integer> validIndexes = new ArrayList<>();
+        for (int i = 0; i < tasks.size(); i++) {
+            Task task = tasks.get(i);
+            String violations = validate(task);
+            if (violations != null) {
+                results[i] = BatchItemResult.failure(i, null, HttpStatus.BAD_REQUEST, violations);
+                continue;
+            }
+            task.setId(null);
+            valid.add(task);
+            validIndexes.add(i);
+        }
+        
+        List<Task> saved = insertAll(valid);
+        for (int i = 0; i < saved.size(); i++) {
+            int index = validIndexes.get(i);
+            results[index] = BatchItemResult.success(index, saved.get(i).getId(), HttpStatus.CREATED);
+        }
+        return Arrays.asList(results);
+    }
+    
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.TASKS_CACHE, allEntries = true)
+    public List<BatchItemResult> updateTasks(List<Task> tasks) {
+        checkBatchSize(tasks.size());
+        Set<Long> ids = tasks.stream()
+                .map(Task::getId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, Task> existing = taskRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Task::getId, Function.identity()));
         
-        return taskRepository.save(task);
+        List<BatchItemResult> results = new ArrayList<>(tasks.size());
+        List<Task> updated = new ArrayList<>();
+        Set<Long> seen = new HashSet<>();
+        for (int i = 0; i < tasks.size(); i++) {
+            Task details = tasks.get(i);
+            Long id = details.getId();
+            String violations = validate(details);
+            if (id == null) {
+                results.add(BatchItemResult.failure(i, null, HttpStatus.BAD_REQUEST, "id is required"));
+            } else if (!seen.add(id)) {
+                results.add(BatchItemResult.failure(i, id, HttpStatus.BAD_REQUEST, "Duplicate id in batch: " + id));
+            } else if (violations != null) {
+                results.add(BatchItemResult.failure(i, id, HttpStatus.BAD_REQUEST, violations));
+            } else if (!existing.containsKey(id)) {
+                results.add(BatchItemResult.failure(i, id, HttpStatus.NOT_FOUND, "Task not found with id: " + id));
+            } else {
+                Task task = existing.get(id);
+                applyDetails(task, details);
+                updated.add(task);
+                results.add(BatchItemResult.success(i, id, HttpStatus.OK));
+            }
+        }
+        taskRepository.saveAll(existing.values());
+        indexUpdated(updated);
+        bumpDataVersion();
+        publishAfterCommit(updated.stream().map(TaskChange::updated).toList());
+        return results;
     }
     
-    public void deleteTask(Long id) {
-        Task task = taskRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Task not found with id: " + id));
-        taskRepository.delete(task);
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.TASKS_CACHE, allEntries = true)
+    public List<BatchItemResult> deleteTasks(List<Long> ids) {
+        checkBatchSize(ids.size());
+        List<Long> nonNullIds = ids.stream().filter(Objects::nonNull).toList();
+        Map<Long, Task> existing = taskRepository.findAllById(nonNullIds).stream()
+                .collect(Collectors.toMap(Task::getId, Function.identity()));
+        taskRepository.deleteAllInBatch(existing.values());
+        List<TaskChange> deleted = existing.keySet().stream().map(TaskChange::deleted).toList();
+        indexDeleted(List.copyOf(existing.values()));
+        
+        List<BatchItemResult> results = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            Long id = ids.get(i);
+            if (id == null) {
+                results.add(BatchItemResult.failure(i, null, HttpStatus.BAD_REQUEST, "id is required"));
+            } else if (existing.remove(id) != null) {
+                results.add(BatchItemResult.success(i, id, HttpStatus.NO_CONTENT));
+            } else {
+                results.add(BatchItemResult.failure(i, id, HttpStatus.NOT_FOUND, "Task not found with id: " + id));
+            }
+        }
+        bumpDataVersion();
+        publishAfterCommit(deleted);
+        return results;
     }
     
     // Search and filter methods
-    public List<Task> searchTasks(String searchTerm) {
+    @Transactional(readOnly = true)
+    public List<TaskView> searchTasks(String searchTerm) {
         if (searchTerm == null || searchTerm.trim().isEmpty()) {
             return getAllTasks();
         }
-        return taskRepository.searchByTitleOrDescription(searchTerm.trim());
+        String term = searchTerm.trim();
+        if (!TaskSearchIndex.isIndexable(term)) {
+            return taskRepository.searchByTitleOrDescription(term);
+        }
+        return searchIndexed(term, null, null, null, null, 0L, Integer.MAX_VALUE);
     }
     
-    public List<Task> filterByStatus(TaskStatus status) {
+    @Transactional(readOnly = true)
+    public List<TaskView> filterByStatus(TaskStatus status) {
         return taskRepository.findByStatus(status);
     }
     
-    public List<Task> filterByDateRange(LocalDate startDate, LocalDate endDate) {
+    @Transactional(readOnly = true)
+    public List<TaskView> filterByDateRange(LocalDate startDate, LocalDate endDate) {
         return taskRepository.findByDueDateBetween(startDate, endDate);
     }
     
-    public List<Task> searchAndFilter(String searchTerm, TaskStatus status, LocalDate startDate, LocalDate endDate, String category) {
+    @Transactional(readOnly = true)
+    public List<TaskView> searchAndFilter(String searchTerm, TaskStatus status, LocalDate startDate, LocalDate endDate, String category) {
         // If all filters are null, return all tasks
         if ((searchTerm == null || searchTerm.trim().isEmpty()) && 
             status == null && 
@@ -81,10 +439,341 @@ public class TaskService {
             ? category.trim() 
             : null;
         
-        return taskRepository.findBySearchAndFilters(normalizedSearch, status, startDate, endDate, normalizedCategory);
+        if (TaskSearchIndex.isIndexable(normalizedSearch)) {
+            return searchIndexed(normalizedSearch, status, startDate, endDate, normalizedCategory, 0L, Integer.MAX_VALUE);
+        }
+        TaskFilter filter = new TaskFilter(normalizedSearch, status, startDate, endDate, normalizedCategory);
+        if (canScanColumns(filter)) {
+            return searchColumns(filter, 0L, Integer.MAX_VALUE);
+        }
+        return taskRepository.findViews(filter, Limit.unlimited());
+    }
+    
+    @Transactional(readOnly = true)
+    public TaskPage searchAndFilterPage(String searchTerm, TaskStatus status, LocalDate startDate, LocalDate endDate,
+                                        String category, String after, Integer limit) {
+        int pageSize = pageSize(limit);
+        String normalizedSearch = (searchTerm != null && !searchTerm.trim().isEmpty()) 
+            ? searchTerm.trim() 
+            : null;
+        String normalizedCategory = (category != null && !category.trim().isEmpty()) 
+            ? category.trim() 
+            : null;
+        
+        TaskFilter filter = new TaskFilter(normalizedSearch, status, startDate, endDate, normalizedCategory);
+        List<TaskView> tasks;
+        if (TaskSearchIndex.isIndexable(normalizedSearch)) {
+            tasks = searchIndexed(normalizedSearch, status, startDate, endDate, normalizedCategory, afterId(after), pageSize + 1);
+        } else if (canScanColumns(filter)) {
+            tasks = searchColumns(filter, afterId(after), pageSize + 1);
+        } else {
+            tasks = taskRepository.findByFilterAfter(filter, afterId(after), Limit.of(pageSize + 1));
+        }
+        return toPage(tasks, pageSize);
+    }
+    
+    @Transactional(readOnly = true)
+    public TaskStats getStats(String searchTerm, TaskStatus status, LocalDate startDate, LocalDate endDate, String category) {
+        String normalizedSearch = (searchTerm != null && !searchTerm.trim().isEmpty()) 
+            ? searchTerm.trim() 
+            : null;
+        String normalizedCategory = (category != null && !category.trim().isEmpty()) 
+            ? category.trim() 
+            : null;
+        LocalDate today = LocalDate.now();
+        
+        Map<TaskStatus, Long> byStatus = new EnumMap<>(TaskStatus.class);
+        for (TaskStatus value : TaskStatus.values()) {
+            byStatus.put(value, 0L);
+        }
+        long total = 0;
+        for (StatusCount statusCount : taskRepository.countByStatusFiltered(normalizedSearch, status, startDate,
+                endDate, normalizedCategory)) {
+            byStatus.put(statusCount.status(), statusCount.count());
+            total += statusCount.count();
+        }
+        
+        Map<String, Long> byCategory = new LinkedHashMap<>();
+        for (CategoryCount categoryCount : taskRepository.countByCategoryFiltered(normalizedSearch, status, startDate,
+                endDate, normalizedCategory)) {
+            byCategory.put(categoryCount.category(), categoryCount.count());
+        }
+        
+        DueDateSummary dueDates = taskRepository.summarizeOpenDueDatesFiltered(normalizedSearch, status, startDate,
+                endDate, normalizedCategory, today, today.plusDays(7));
+        return new TaskStats(total, byStatus, byCategory, dueDates);
+    }
+    
+    /**
+     * Open tasks whose due date has passed, most overdue first, then by id. Served from the
+     * due-date index: only the returned tasks are loaded.
+     */
+    @Transactional(readOnly = true)
+    public List<TaskView> getOverdueTasks(Integer limit) {
+        LocalDate today = LocalDate.now();
+        return loadDue(dueDateIndex.dueBefore(today, pageSize(limit)), null, today.minusDays(1));
+    }
+    
+    // Open tasks due from today through the given number of days from now, earliest first
+    @Transactional(readOnly = true)
+    public List<TaskView> getDueSoonTasks(Integer days, Integer limit) {
+        int window = days == null ? DEFAULT_DUE_SOON_DAYS : Math.max(0, Math.min(days, MAX_DUE_SOON_DAYS));
+        LocalDate today = LocalDate.now();
+        LocalDate end = today.plusDays(window);
+        return loadDue(dueDateIndex.dueBetween(today, end, pageSize(limit)), today, end);
     }
     
     public List<String> getAllCategories() {
-        return taskRepository.findDistinctCategories();
+        return categoryDictionary.categories();
+    }
+    
+    public List<CategoryCount> getCategoryCounts() {
+        return categoryDictionary.counts();
+    }
+    
+    @SuppressWarnings("unchecked")
+    public TaskCacheStats getCacheStats() {
+        Cache<Object, Object> cache = (Cache<Object, Object>) cacheManager.getCache(CacheConfig.TASKS_CACHE).getNativeCache();
+        CacheStats stats = cache.stats();
+        return new TaskCacheStats(cache.estimatedSize(), stats.hitCount(), stats.missCount(), stats.hitRate(),
+                stats.evictionCount());
+    }
+    
+    // Write pipeline flush: runs on the pipeline thread, so the transaction is started explicitly
+    // Registered before the after-commit hooks of insertAll, so a failure in one of them, such as
+    // the journal append, is told apart from a failed insert and the committed batch is not retried
+    private List<Task> insertBatch(List<Task> tasks) {
+        AtomicBoolean committed = new AtomicBoolean();
+        try {
+            return transactionTemplate.execute(status -> {
+                afterCommit(() -> committed.set(true));
+                return insertAll(tasks);
+            });
+        } catch (RuntimeException e) {
+            if (committed.get()) {
+                throw new TaskWritePipeline.CommittedBatchException(e);
+            }
+            throw e;
+        }
+    }
+    
+    private List<Task> insertAll(List<Task> tasks) {
+        List<Task> saved = taskRepository.saveAll(tasks);
+        indexCreated(saved);
+        bumpDataVersion();
+        publishAfterCommit(saved.stream().map(TaskChange::created).toList());
+        return saved;
+    }
+    
+    // The search and due-date indexes, the category dictionary and the column mirror describe
+    // committed rows only, so they change after commit like the data version: a rolled-back write,
+    // such as a failed write pipeline batch before its tasks are retried one by one, leaves no trace
+    private void indexCreated(List<Task> tasks) {
+        afterCommit(() -> {
+            searchIndex.addAll(tasks);
+            dueDateIndex.addAll(tasks);
+            categoryDictionary.putAll(tasks);
+            mirror(tasks);
+        });
+    }
+    
+    private void indexUpdated(List<Task> tasks) {
+        afterCommit(() -> {
+            for (Task task : tasks) {
+                searchIndex.update(task);
+                dueDateIndex.update(task);
+                categoryDictionary.put(task);
+            }
+            mirror(tasks);
+        });
+    }
+    
+    private void indexDeleted(List<Task> tasks) {
+        afterCommit(() -> {
+            for (Task task : tasks) {
+                searchIndex.remove(task.getId());
+                dueDateIndex.remove(task);
+                categoryDictionary.remove(task);
+                unmirror(task);
+            }
+        });
+    }
+    
+    private void bumpDataVersion() {
+        afterCommit(dataVersion::incrementAndGet);
+    }
+    
+    // Subscribers of the change feed only hear about writes that committed; the journal append
+    // blocks until the changes are on disk, so a write is acknowledged only once it is durable
+    private void publishAfterCommit(List<TaskChange> changes) {
+        afterCommit(() -> {
+            journal.append(changes);
+            changeFeed.publish(changes);
+        });
+    }
+    
+    // Runs the action once the surrounding transaction commits, or right away outside a transaction
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+    
+    // A conditional write that matched no row either lost the race or targeted a missing task;
+    // the extra lookup only runs on that failure path
+    private RuntimeException writeFailure(Long id, Long expectedVersion) {
+        if (expectedVersion != null && taskRepository.existsById(id)) {
+            return versionConflict(id);
+        }
+        return new TaskNotFoundException(id);
+    }
+    
+    // @CacheEvict does not run when the method throws; the caller holds an outdated version, and
+    // a cached copy could be just as outdated, so drop it before they read the task again
+    private TaskVersionConflictException versionConflict(Long id) {
+        cacheManager.getCache(CacheConfig.TASKS_CACHE).evict(id);
+        return new TaskVersionConflictException(id);
+    }
+    
+    private static void applyDetails(Task task, Task taskDetails) {
+        task.setTitle(taskDetails.getTitle());
+        task.setDescription(taskDetails.getDescription());
+        task.setStatus(taskDetails.getStatus());
+        task.setDueDate(taskDetails.getDueDate());
+        task.setCategory(taskDetails.getCategory());
+    }
+    
+    private String validate(Task task) {
+        Set<ConstraintViolation<Task>> violations = validator.validate(task);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+    
+    private static void checkBatchSize(int size) {
+        if (size > MAX_BATCH_SIZE) {
+            throw new BatchSizeExceededException(size, MAX_BATCH_SIZE);
+        }
+    }
+    
+    // Loads the trigram index candidates after the given id in id order, applying the remaining
+    // filters in the database and verifying the search term, until maxResults tasks are found
+    private List<TaskView> searchIndexed(String searchTerm, TaskStatus status, LocalDate startDate, LocalDate endDate,
+                                     String category, long afterId, int maxResults) {
+        // The search term is matched in memory, so only the column filters go to the database
+        TaskFilter filter = new TaskFilter(null, status, startDate, endDate, category);
+        long[] candidates = searchIndex.candidates(searchTerm);
+        if (columnStore != null) {
+            candidates = columnStore.retainMatching(candidates, status, startDate, endDate, category);
+        }
+        int from = Arrays.binarySearch(candidates, afterId);
+        from = from >= 0 ? from + 1 : -from - 1;
+        
+        List<TaskView> results = new ArrayList<>();
+        for (int start = from; start < candidates.length && results.size() < maxResults; start += LOAD_CHUNK_SIZE) {
+            List<Long> ids = Arrays.stream(candidates, start, Math.min(start + LOAD_CHUNK_SIZE, candidates.length))
+                    .boxed()
+                    .toList();
+            for (TaskView task : taskRepository.findByIdInAndFilter(ids, filter)) {
+                if (TaskSearchIndex.matches(task.title(), task.description(), searchTerm)) {
+                    results.add(task);
+                    if (results.size() == maxResults) {
+                        break;
+                    }
+                }
+            }
+        }
+        return results;
+    }
+    
+    // Only column filters can be scanned, and without any the plain id-ordered query is as cheap
+    private boolean canScanColumns(TaskFilter filter) {
+        return columnStore != null
+                && filter.searchTerm() == null
+                && (filter.status() != null || filter.startDate() != null || filter.endDate() != null
+                        || filter.category() != null);
+    }
+    
+    // Scans the column store for matching ids in id order and loads them a chunk at a time. The
+    // database checks the filters again, as a task may change between the scan and the load.
+    private List<TaskView> searchColumns(TaskFilter filter, long afterId, int maxResults) {
+        List<TaskView> results = new ArrayList<>();
+        long from = afterId;
+        while (results.size() < maxResults) {
+            int wanted = Math.min(LOAD_CHUNK_SIZE, maxResults - results.size());
+            long[] ids = columnStore.matchingIds(filter.status(), filter.startDate(), filter.endDate(),
+                    filter.category(), from, wanted);
+            if (ids.length == 0) {
+                break;
+            }
+            results.addAll(taskRepository.findByIdInAndFilter(Arrays.stream(ids).boxed().toList(), filter));
+            if (ids.length < wanted) {
+                break;
+            }
+            from = ids[ids.length - 1];
+        }
+        return results;
+    }
+    
+    // Loads the tasks in index order; one completed or rescheduled since the lookup is dropped, and
+    // an id the index returned twice while the task was being moved is only listed once
+    private List<TaskView> loadDue(long[] ids, LocalDate from, LocalDate to) {
+        if (ids.length == 0) {
+            return List.of();
+        }
+        Map<Long, TaskView> views = taskRepository.findViewsByIdIn(Arrays.stream(ids).distinct().boxed().toList()).stream()
+                .collect(Collectors.toMap(TaskView::id, Function.identity()));
+        List<TaskView> tasks = new ArrayList<>(ids.length);
+        for (long id : ids) {
+            TaskView view = views.remove(id);
+            if (view != null && view.status() != TaskStatus.DONE && view.dueDate() != null
+                    && (from == null || !view.dueDate().isBefore(from)) && !view.dueDate().isAfter(to)) {
+                tasks.add(view);
+            }
+        }
+        return tasks;
+    }
+    
+    private void mirror(List<Task> tasks) {
+        if (columnStore != null) {
+            columnStore.putAll(tasks);
+        }
+    }
+    
+    private void unmirror(Task task) {
+        if (columnStore != null) {
+            columnStore.remove(task);
+        }
+    }
+    
+    // Keyset pagination helpers: one extra row is fetched to tell whether a next page exists
+    private static int pageSize(Integer limit) {
+        if (limit == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        return Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+    }
+    
+    private static long afterId(String after) {
+        return (after == null || after.isBlank()) ? 0L : TaskCursor.decode(after);
+    }
+    
+    private static TaskPage toPage(List<TaskView> tasks, int pageSize) {
+        if (tasks.size() <= pageSize) {
+            return new TaskPage(tasks, null);
+        }
+        List<TaskView> items = tasks.subList(0, pageSize);
+        return new TaskPage(items, TaskCursor.encode(items.get(pageSize - 1).id()));
     }
 }
@@ -0,0 +1,142 @@
+package com.taskio.service;
+
+import com.taskio.model.Task;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Group commit for single-task creates. Callers queue their task and wait on a future while one
+ * writer thread takes whatever is queued, lingering up to {@code maxDelay} for more, and inserts
+ * up to {@code maxBatchSize} tasks with one call to {@code insertBatch}, i.e. one transaction.
+ * While a batch commits the next one fills up, so under bursty load many creates share a commit.
+ * If a batch fails, its tasks are retried one by one so that a single bad task only fails its
+ * own caller. A batch that committed is never retried, even if a step after the commit failed.
+ */
+class TaskWritePipeline implements AutoCloseable {
+
+    private static final long IDLE_POLL_MILLIS = 100;
+
+    private final int maxBatchSize;
+    private final long maxDelayNanos;
+    private final Function<List<Task>, List<Task>> insertBatch;
+    private final BlockingQueue<PendingCreate> queue;
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    private record PendingCreate(Task task, CompletableFuture<Task> result) {
+    }
+
+    /**
+     * Thrown by {@code insertBatch} when the batch committed but a step after the commit, such as
+     * the journal append, failed. The tasks are in the table, so retrying them would insert them a
+     * second time; instead every caller of the batch gets the cause.
+     */
+    static class CommittedBatchException extends RuntimeException {
+
+        CommittedBatchException(RuntimeException cause) {
+            super(cause);
+        }
+    }
+
+    TaskWritePipeline(int maxBatchSize, Duration maxDelay, int queueCapacity,
+                      Function<List<Task>, List<Task>> insertBatch) {
+        this.maxBatchSize = maxBatchSize;
+        this.maxDelayNanos = maxDelay.toNanos();
+        this.insertBatch = insertBatch;
+        this.queue = new LinkedBlockingQueue<>(queueCapacity);
+        this.writer = new Thread(this::run, "task-write-pipeline");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * Queues the task; the future completes with the saved task once its batch commits.
+     *
+     * @throws RejectedExecutionException when the queue is full or the pipeline is closed
+     */
+    CompletableFuture<Task> submit(Task task) {
+        if (!running) {
+            throw new RejectedExecutionException("Write pipeline is closed");
+        }
+        PendingCreate pending = new PendingCreate(task, new CompletableFuture<>());
+        if (!queue.offer(pending)) {
+            throw new RejectedExecutionException("Write pipeline queue is full");
+        }
+        return pending.result();
+    }
+
+    // Stops taking new tasks and waits for the queued ones to be written
+    @Override
+    public void close() {
+        running = false;
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        PendingCreate pending;
+        while ((pending = queue.poll()) != null) {
+            pending.result().completeExceptionally(new RejectedExecutionException("Write pipeline is closed"));
+        }
+    }
+
+    private void run() {
+        List<PendingCreate> batch = new ArrayList<>(maxBatchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingCreate first = queue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + maxDelayNanos;
+                while (batch.size() < maxBatchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    PendingCreate next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                running = false;
+            }
+            if (!batch.isEmpty()) {
+                flush(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<PendingCreate> batch) {
+        try {
+            List<Task> saved = insertBatch.apply(batch.stream().map(PendingCreate::task).toList());
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).result().complete(saved.get(i));
+            }
+        } catch (CommittedBatchException e) {
+            for (PendingCreate pending : batch) {
+                pending.result().completeExceptionally(e.getCause());
+            }
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                batch.get(0).result().completeExceptionally(e);
+                return;
+            }
+            for (PendingCreate pending : batch) {
+                // The rolled back insert may have assigned an id and version; start over as a new task
+                pending.task().setId(null);
+                pending.task().setVersion(null);
+                flush(List.of(pending));
+            }
+        }
+    }
+}
@@ -0,0 +1,12 @@
+-- Tasks table as previously generated by Hibernate from the Task entity
+CREATE SEQUENCE tasks_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE tasks (
+    id          BIGINT       NOT NULL PRIMARY KEY,
+    title       VARCHAR(100) NOT NULL,
+    description VARCHAR(500),
+    status      VARCHAR(20)  NOT NULL,
+    due_date    DATE,
+    category    VARCHAR(50),
+    CONSTRAINT ck_tasks_status CHECK (status IN ('TODO', 'IN_PROGRESS', 'DONE'))
+);
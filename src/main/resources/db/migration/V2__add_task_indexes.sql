@@ -0,0 +1,5 @@
+-- Secondary indexes for the status, due date and category filters in TaskRepository
+CREATE INDEX idx_tasks_status ON tasks (status);
+CREATE INDEX idx_tasks_due_date ON tasks (due_date);
+CREATE INDEX idx_tasks_category ON tasks (category);
+CREATE INDEX idx_tasks_status_due_date ON tasks (status, due_date);
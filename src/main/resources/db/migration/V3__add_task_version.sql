@@ -0,0 +1,2 @@
+-- Optimistic locking: incremented on every update of a task
+ALTER TABLE tasks ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
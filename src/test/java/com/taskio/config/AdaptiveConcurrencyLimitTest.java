@@ -0,0 +1,126 @@
+package com.taskio.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AdaptiveConcurrencyLimitTest {
+
+    @Test
+    void tryAcquire_ShouldAdmitUpToLimitUntilSlotsAreReleased() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(2, 1, 10);
+
+        assertThat(limit.tryAcquire()).isTrue();
+        assertThat(limit.tryAcquire()).isTrue();
+        assertThat(limit.tryAcquire()).isFalse();
+
+        limit.onIgnored();
+
+        assertThat(limit.tryAcquire()).isTrue();
+        assertThat(limit.getInFlight()).isEqualTo(2);
+    }
+
+    @Test
+    void onSuccess_WhenLatencyStaysAtNoLoad_ShouldGrowOnlyWhileLimitIsUsed() {
+        // Given
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(4, 1, 10);
+        for (int i = 0; i < 4; i++) {
+            limit.tryAcquire();
+        }
+
+        // When - 4 and 3 in flight use the limit, 2 and 1 no longer do
+        for (int i = 0; i < 4; i++) {
+            limit.onSuccess(TimeUnit.MILLISECONDS.toNanos(1));
+        }
+
+        // Then
+        assertThat(limit.getLimit()).isEqualTo(6);
+        assertThat(limit.getInFlight()).isZero();
+    }
+
+    @Test
+    void onSuccess_WhenLatencyRises_ShouldShrinkUntilQueueIsBetweenAlphaAndBeta() {
+        // Given
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(20, 1, 100);
+        sample(limit, 1);
+
+        // When
+        sample(limit, 10);
+
+        // Then - 20 * (1 - 1ms / 10ms) = 18 queued
+        assertThat(limit.getLimit()).isEqualTo(19);
+
+        // When
+        for (int i = 0; i < 100; i++) {
+            sample(limit, 10);
+        }
+
+        // Then - 5 * 0.9 rounds up to 5 queued, between alpha and beta
+        assertThat(limit.getLimit()).isEqualTo(5);
+    }
+
+    @Test
+    void onSuccess_WhenRoutesDifferInLatency_ShouldCompareEachWithItsOwnNoLoadLatency() {
+        // Given
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(20, 1, 100);
+
+        // When - a steady mix of a 1ms and a 50ms route, neither of them getting slower
+        for (int i = 0; i < 100; i++) {
+            sample(limit, "GET /api/tasks/{id}", 1);
+            sample(limit, "GET /api/tasks/stats", 50);
+        }
+
+        // Then - against a shared 1ms baseline every stats sample would count 20 queued
+        assertThat(limit.getLimit()).isEqualTo(20);
+
+        // When - one route slows down
+        sample(limit, "GET /api/tasks/stats", 500);
+
+        // Then - 20 * (1 - 50ms / 500ms) = 18 queued
+        assertThat(limit.getLimit()).isEqualTo(19);
+    }
+
+    @Test
+    void onDropped_ShouldBackOffMultiplicativelyDownToMinLimit() {
+        // Given
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(10, 2, 100);
+
+        // When
+        limit.tryAcquire();
+        limit.onDropped();
+
+        // Then
+        assertThat(limit.getLimit()).isEqualTo(9);
+
+        // When
+        for (int i = 0; i < 50; i++) {
+            limit.tryAcquire();
+            limit.onDropped();
+        }
+
+        // Then
+        assertThat(limit.getLimit()).isEqualTo(2);
+        assertThat(limit.getInFlight()).isZero();
+    }
+
+    @Test
+    void constructor_ShouldClampInitialLimitAndRejectInvalidBounds() {
+        assertThat(new AdaptiveConcurrencyLimit(500, 1, 50).getLimit()).isEqualTo(50);
+        assertThat(new AdaptiveConcurrencyLimit(0, 3, 50).getLimit()).isEqualTo(3);
+        assertThatThrownBy(() -> new AdaptiveConcurrencyLimit(10, 0, 50)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new AdaptiveConcurrencyLimit(10, 20, 10)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static void sample(AdaptiveConcurrencyLimit limit, long latencyMillis) {
+        assertThat(limit.tryAcquire()).isTrue();
+        limit.onSuccess(TimeUnit.MILLISECONDS.toNanos(latencyMillis));
+    }
+
+    private static void sample(AdaptiveConcurrencyLimit limit, String route, long latencyMillis) {
+        assertThat(limit.tryAcquire()).isTrue();
+        limit.onSuccess(route, TimeUnit.MILLISECONDS.toNanos(latencyMillis));
+    }
+}
@@ -0,0 +1,135 @@
+package com.taskio.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskio.config.ConcurrencyLimitFilter.EndpointClass;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ConcurrencyLimitFilterTest {
+
+    private final ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter();
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        ObjectProvider<MeterRegistry> meterRegistry = mock(ObjectProvider.class);
+        when(meterRegistry.getIfAvailable()).thenReturn(registry);
+        ReflectionTestUtils.setField(filter, "enabled", true);
+        ReflectionTestUtils.setField(filter, "initialLimit", 10);
+        ReflectionTestUtils.setField(filter, "minLimit", 1);
+        ReflectionTestUtils.setField(filter, "maxLimit", 100);
+        ReflectionTestUtils.setField(filter, "retryAfter", Duration.ofSeconds(2));
+        ReflectionTestUtils.setField(filter, "objectMapper", new ObjectMapper().findAndRegisterModules());
+        ReflectionTestUtils.setField(filter, "meterRegistry", meterRegistry);
+        filter.start();
+    }
+
+    @Test
+    void classify_ShouldSplitPointReadsQueriesAndWrites() {
+        assertThat(ConcurrencyLimitFilter.classify(request("GET", "/api/tasks/42"))).isEqualTo(EndpointClass.POINT_READ);
+        assertThat(ConcurrencyLimitFilter.classify(request("GET", "/api/tasks/categories"))).isEqualTo(EndpointClass.POINT_READ);
+        assertThat(ConcurrencyLimitFilter.classify(request("GET", "/api/tasks"))).isEqualTo(EndpointClass.QUERY);
+        assertThat(ConcurrencyLimitFilter.classify(request("GET", "/api/tasks/search"))).isEqualTo(EndpointClass.QUERY);
+        assertThat(ConcurrencyLimitFilter.classify(request("GET", "/api/tasks/due-soon"))).isEqualTo(EndpointClass.QUERY);
+        assertThat(ConcurrencyLimitFilter.classify(request("PATCH", "/api/tasks/42"))).isEqualTo(EndpointClass.WRITE);
+        assertThat(ConcurrencyLimitFilter.classify(request("POST", "/api/tasks/batch"))).isEqualTo(EndpointClass.WRITE);
+    }
+
+    @Test
+    void classify_ShouldNotLimitStreamsPreflightsOrOtherPaths() {
+        assertThat(ConcurrencyLimitFilter.classify(request("GET", "/api/tasks/stream"))).isNull();
+        assertThat(ConcurrencyLimitFilter.classify(request("GET", "/api/tasks/export"))).isNull();
+        assertThat(ConcurrencyLimitFilter.classify(request("OPTIONS", "/api/tasks/42"))).isNull();
+        assertThat(ConcurrencyLimitFilter.classify(request("GET", "/actuator/health/readiness"))).isNull();
+        assertThat(ConcurrencyLimitFilter.classify(request("GET", "/api/taskset"))).isNull();
+    }
+
+    @Test
+    void doFilter_WhenClassIsAtLimit_ShouldRejectWithRetryAfterAndLeaveOtherClassesAlone() throws Exception {
+        // Given
+        AdaptiveConcurrencyLimit queries = filter.limit(EndpointClass.QUERY);
+        while (queries.tryAcquire()) {
+            // fill every query slot
+        }
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        MockFilterChain rejectedChain = new MockFilterChain();
+        MockHttpServletResponse served = new MockHttpServletResponse();
+        MockFilterChain servedChain = new MockFilterChain();
+
+        // When
+        filter.doFilter(request("GET", "/api/tasks/search"), rejected, rejectedChain);
+        filter.doFilter(request("GET", "/api/tasks/42"), served, servedChain);
+
+        // Then
+        assertThat(rejected.getStatus()).isEqualTo(503);
+        assertThat(rejected.getHeader("Retry-After")).isEqualTo("2");
+        assertThat(rejected.getContentAsString()).contains("\"status\":503");
+        assertThat(rejectedChain.getRequest()).isNull();
+        assertThat(served.getStatus()).isEqualTo(200);
+        assertThat(servedChain.getRequest()).isNotNull();
+        assertThat(filter.limit(EndpointClass.POINT_READ).getInFlight()).isZero();
+        assertThat(registry.get("taskio.concurrency.rejected").tag("class", "query").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void route_ShouldUseMethodAndHandlerPattern() {
+        MockHttpServletRequest matched = request("GET", "/api/tasks/42");
+        matched.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/tasks/{id}");
+
+        assertThat(ConcurrencyLimitFilter.route(matched)).isEqualTo("GET /api/tasks/{id}");
+        assertThat(ConcurrencyLimitFilter.route(request("GET", "/api/tasks/nope"))).isEqualTo("GET unmatched");
+    }
+
+    @Test
+    void doFilter_WhenHandlerAnswers503_ShouldBackOff() throws Exception {
+        // Given
+        FilterChain poolTimeout = (request, response) ->
+                ((HttpServletResponse) response).setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+
+        // When
+        filter.doFilter(request("GET", "/api/tasks/42"), new MockHttpServletResponse(), poolTimeout);
+
+        // Then
+        assertThat(filter.limit(EndpointClass.POINT_READ).getLimit()).isEqualTo(9);
+        assertThat(filter.limit(EndpointClass.POINT_READ).getInFlight()).isZero();
+        assertThat(registry.get("taskio.concurrency.limit").tag("class", "point-read").gauge().value()).isEqualTo(9);
+    }
+
+    @Test
+    void doFilter_WhenDisabled_ShouldPassEverythingThrough() throws Exception {
+        // Given
+        ReflectionTestUtils.setField(filter, "enabled", false);
+        AdaptiveConcurrencyLimit writes = filter.limit(EndpointClass.WRITE);
+        while (writes.tryAcquire()) {
+            // fill every write slot
+        }
+        MockFilterChain chain = new MockFilterChain();
+
+        // When
+        filter.doFilter(request("POST", "/api/tasks"), new MockHttpServletResponse(), chain);
+
+        // Then
+        assertThat(chain.getRequest()).isNotNull();
+    }
+
+    private static MockHttpServletRequest request(String method, String uri) {
+        return new MockHttpServletRequest(method, uri);
+    }
+}
@@ -0,0 +1,64 @@
+package com.taskio.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EvictionAwareCacheTest {
+
+    private final EvictionAwareCache cache = new EvictionAwareCache(
+            new CaffeineCache(CacheConfig.TASKS_CACHE, Caffeine.newBuilder().build(), false));
+
+    @Test
+    void put_AfterMiss_ShouldStoreLoadedValue() {
+        // When
+        assertThat(cache.get(1L)).isNull();
+        cache.put(1L, "v0");
+
+        // Then
+        assertThat(cache.get(1L).get()).isEqualTo("v0");
+    }
+
+    @Test
+    void put_WhenKeyWasEvictedSinceMiss_ShouldDropStaleValue() {
+        // Given - a reader misses and loads version 0
+        assertThat(cache.get(1L)).isNull();
+
+        // When - a write commits and evicts before the reader puts what it loaded
+        cache.evict(1L);
+        cache.put(1L, "v0");
+
+        // Then - the next read misses and loads the current version
+        assertThat(cache.get(1L)).isNull();
+        cache.put(1L, "v1");
+        assertThat(cache.get(1L).get()).isEqualTo("v1");
+    }
+
+    @Test
+    void put_WhenCacheWasClearedSinceMiss_ShouldDropStaleValue() {
+        // Given
+        assertThat(cache.get(1L)).isNull();
+
+        // When
+        cache.clear();
+        cache.put(1L, "v0");
+
+        // Then
+        assertThat(cache.get(1L)).isNull();
+    }
+
+    @Test
+    void put_WithoutPrecedingMiss_ShouldStoreValue() {
+        // When
+        cache.put(1L, "v0");
+        cache.evict(2L);
+        cache.put(1L, "v1");
+
+        // Then
+        assertThat(cache.get(1L).get()).isEqualTo("v1");
+        assertThat(cache.evictIfPresent(1L)).isTrue();
+        assertThat(cache.evictIfPresent(1L)).isFalse();
+    }
+}
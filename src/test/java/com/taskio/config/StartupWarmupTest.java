@@ -0,0 +1,101 @@
+package com.taskio.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StartupWarmupTest {
+
+    private final StartupWarmup warmup = new StartupWarmup();
+    private final List<String> requests = new CopyOnWriteArrayList<>();
+    private HttpServer server;
+    private volatile boolean failSearch;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        ReflectionTestUtils.setField(warmup, "objectMapper", new ObjectMapper());
+        ReflectionTestUtils.setField(warmup, "iterations", 2);
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/api/tasks", this::handle);
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void run_ShouldExerciseEndpointsAndDeleteItsTask() {
+        // When
+        int failures = warmup.run(baseUrl());
+
+        // Then
+        assertThat(failures).isZero();
+        assertThat(requests).filteredOn(request -> request.startsWith("POST /api/tasks")).hasSize(4);
+        assertThat(requests).contains("GET /api/tasks/42 application/cbor", "GET /api/tasks/overdue application/x-jackson-smile",
+                "PATCH /api/tasks/42", "DELETE /api/tasks/0");
+        assertThat(requests).filteredOn(request -> request.equals("DELETE /api/tasks/42")).hasSize(2);
+    }
+
+    @Test
+    void run_WhenRequestFails_ShouldCountFailureAndStillDeleteTask() {
+        // Given
+        failSearch = true;
+
+        // When
+        int failures = warmup.run(baseUrl());
+
+        // Then
+        assertThat(failures).isEqualTo(2);
+        assertThat(requests).filteredOn(request -> request.equals("DELETE /api/tasks/42")).hasSize(2);
+        assertThat(requests).doesNotContain("PATCH /api/tasks/42");
+    }
+
+    private URI baseUrl() {
+        return URI.create("http://localhost:" + server.getAddress().getPort() + "/api/tasks");
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        String method = exchange.getRequestMethod();
+        String path = exchange.getRequestURI().getPath();
+        String accept = exchange.getRequestHeaders().getFirst("Accept");
+        requests.add(method + " " + path + (method.equals("GET") ? " " + accept : ""));
+        String request = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+
+        String body = "{}";
+        int status;
+        if (method.equals("POST")) {
+            boolean valid = request.contains("Warm-up");
+            status = valid ? 201 : 400;
+            body = valid ? "{\"id\":42}" : body;
+        } else if (method.equals("DELETE")) {
+            status = path.endsWith("/42") ? 204 : 404;
+        } else if (path.equals("/api/tasks/search") && failSearch) {
+            status = 500;
+        } else {
+            status = 200;
+        }
+        if (status == 204) {
+            exchange.sendResponseHeaders(status, -1);
+        } else {
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(status, bytes.length);
+            exchange.getResponseBody().write(bytes);
+        }
+        exchange.close();
+    }
+}
@@ -0,0 +1,51 @@
+package com.taskio.config;
+
+import io.micrometer.common.KeyValue;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TaskFilterObservationConventionTest {
+
+    private final TaskFilterObservationConvention convention = new TaskFilterObservationConvention();
+
+    @Test
+    void getLowCardinalityKeyValues_ForSearch_ShouldTagFilterShape() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/tasks/search");
+        request.setParameter("category", "Work");
+        request.setParameter("q", "report");
+        request.setParameter("startDate", "");
+
+        assertThat(filtersTag(request, "/api/tasks/search")).isEqualTo("q+category");
+    }
+
+    @Test
+    void getLowCardinalityKeyValues_ForSearchWithoutFilters_ShouldTagNone() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/tasks/search");
+        request.setParameter("limit", "50");
+
+        assertThat(filtersTag(request, "/api/tasks/search")).isEqualTo("none");
+    }
+
+    @Test
+    void getLowCardinalityKeyValues_ForOtherEndpoints_ShouldTagNone() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/tasks");
+        request.setParameter("q", "report");
+
+        assertThat(filtersTag(request, "/api/tasks")).isEqualTo("none");
+    }
+
+    private String filtersTag(MockHttpServletRequest request, String pathPattern) {
+        ServerRequestObservationContext context =
+                new ServerRequestObservationContext(request, new MockHttpServletResponse());
+        context.setPathPattern(pathPattern);
+        return convention.getLowCardinalityKeyValues(context).stream()
+                .filter(keyValue -> keyValue.getKey().equals(TaskFilterObservationConvention.FILTERS_TAG))
+                .map(KeyValue::getValue)
+                .findFirst()
+                .orElseThrow();
+    }
+}
@@ -0,0 +1,61 @@
+package com.taskio.controller;
+
+import com.taskio.model.Task;
+import com.taskio.model.TaskStatus;
+import com.taskio.repository.TaskRepository;
+import com.taskio.service.TaskService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// Creates go through the real service and repository: the id a client sends must neither
+// overwrite the task that has it nor make the insert fail
+@SpringBootTest
+@AutoConfigureMockMvc
+class TaskControllerCreateTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @AfterEach
+    void tearDown() {
+        taskRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void createTask_WithIdInBody_ShouldCreateNewTask() throws Exception {
+        // Given
+        Task existing = new Task();
+        existing.setTitle("Existing task");
+        existing.setStatus(TaskStatus.TODO);
+        Long existingId = taskService.createTask(existing).getId();
+
+        // When & Then
+        mockMvc.perform(post("/api/tasks")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"id\": " + existingId + ", \"title\": \"New task\", \"status\": \"TODO\"}"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id", not(existingId.intValue())))
+                .andExpect(jsonPath("$.title", is("New task")))
+                .andExpect(jsonPath("$.version", is(0)));
+
+        assertThat(taskRepository.count()).isEqualTo(2);
+        assertThat(taskRepository.findById(existingId)).hasValueSatisfying(
+                task -> assertThat(task.getTitle()).isEqualTo("Existing task"));
+    }
+}
@@ -1,22 +1,46 @@
 package com.taskio.controller;
 
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.taskio.dto.BatchItemResult;
+import com.taskio.dto.CategoryCount;
+import com.taskio.dto.TaskCacheStats;
+import com.taskio.dto.DueDateSummary;
+import com.taskio.dto.TaskPage;
+import com.taskio.dto.TaskPatch;
+import com.taskio.dto.TaskStats;
+import com.taskio.dto.TaskView;
+import com.taskio.exception.InvalidCursorException;
+import com.taskio.exception.TaskNotFoundException;
+import com.taskio.exception.TaskVersionConflictException;
 import com.taskio.model.Task;
 import com.taskio.model.TaskStatus;
+import com.taskio.service.TaskChangeFeed;
 import com.taskio.service.TaskService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
@@ -35,8 +59,13 @@ class TaskControllerTest {
     @MockBean
     private TaskService taskService;
 
+    @MockBean
+    private TaskChangeFeed changeFeed;
+
     private Task testTask;
 
+    private TaskView testTaskView;
+
     @BeforeEach
     void setUp() {
         testTask = new Task();
@@ -46,12 +75,17 @@ class TaskControllerTest {
         testTask.setStatus(TaskStatus.TODO);
         testTask.setDueDate(LocalDate.of(2026, 1, 20));
         testTask.setCategory("Work");
+        testTask.setVersion(2L);
+
+        testTaskView = new TaskView(1L, "Test Task", "Test Description", TaskStatus.TODO,
+                LocalDate.of(2026, 1, 20), "Work", 2L);
     }
 
     @Test
     void getAllTasks_ShouldReturnListOfTasks() throws Exception {
         // Given
-        List<Task> tasks = Arrays.asList(testTask, new Task());
+        List<TaskView> tasks = Arrays.asList(testTaskView,
+                new TaskView(2L, "Other Task", null, TaskStatus.DONE, null, null, 0L));
         when(taskService.getAllTasks()).thenReturn(tasks);
 
         // When & Then
@@ -60,15 +94,99 @@ class TaskControllerTest {
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$", hasSize(2)))
                 .andExpect(jsonPath("$[0].title", is("Test Task")))
-                .andExpect(jsonPath("$[0].status", is("TODO")));
+                .andExpect(jsonPath("$[0].status", is("TODO")))
+                .andExpect(jsonPath("$[0].version", is(2)));
 
         verify(taskService, times(1)).getAllTasks();
     }
 
+    @Test
+    void getAllTasks_WhenCborIsAccepted_ShouldReturnBinaryEncoding() throws Exception {
+        // Given
+        when(taskService.getAllTasks()).thenReturn(List.of(testTaskView));
+
+        // When
+        MvcResult result = mockMvc.perform(get("/api/tasks")
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andExpect(header().string(HttpHeaders.VARY, containsString(HttpHeaders.ACCEPT)))
+                .andReturn();
+
+        // Then
+        List<Map<String, Object>> tasks = new CBORMapper().readValue(result.getResponse().getContentAsByteArray(),
+                new TypeReference<List<Map<String, Object>>>() {});
+        assertThat(tasks).singleElement()
+                .satisfies(task -> assertThat(task).containsEntry("title", "Test Task").containsEntry("status", "TODO"));
+    }
+
+    @Test
+    void searchAndFilterTasks_WhenSmileIsAccepted_ShouldReturnBinaryEncoding() throws Exception {
+        // Given
+        when(taskService.searchAndFilter(eq("test"), isNull(), isNull(), isNull(), isNull()))
+                .thenReturn(List.of(testTaskView));
+
+        // When
+        MvcResult result = mockMvc.perform(get("/api/tasks/search")
+                        .param("q", "test")
+                        .accept(TaskController.APPLICATION_SMILE_VALUE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(TaskController.APPLICATION_SMILE_VALUE))
+                .andReturn();
+
+        // Then
+        List<Map<String, Object>> tasks = new SmileMapper().readValue(result.getResponse().getContentAsByteArray(),
+                new TypeReference<List<Map<String, Object>>>() {});
+        assertThat(tasks).extracting(task -> task.get("title")).containsExactly("Test Task");
+    }
+
+    @Test
+    void getAllTasks_WithLimit_ShouldReturnPageWithNextCursor() throws Exception {
+        // Given
+        when(taskService.getTasksPage(isNull(), eq(1))).thenReturn(new TaskPage(List.of(testTaskView), "aWQ6MQ"));
+
+        // When & Then
+        mockMvc.perform(get("/api/tasks")
+                        .param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].title", is("Test Task")))
+                .andExpect(jsonPath("$.nextCursor", is("aWQ6MQ")));
+
+        verify(taskService, never()).getAllTasks();
+    }
+
+    @Test
+    void getAllTasks_WithInvalidCursor_ShouldReturnBadRequest() throws Exception {
+        // Given
+        when(taskService.getTasksPage(eq("bogus"), isNull())).thenThrow(new InvalidCursorException("bogus"));
+
+        // When & Then
+        mockMvc.perform(get("/api/tasks")
+                        .param("after", "bogus"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void searchAndFilterTasks_WithCursor_ShouldReturnPage() throws Exception {
+        // Given
+        when(taskService.searchAndFilterPage(isNull(), eq(TaskStatus.TODO), isNull(), isNull(), isNull(),
+                eq("aWQ6MQ"), isNull()))
+                .thenReturn(new TaskPage(List.of(testTaskView), null));
+
+        // When & Then
+        mockMvc.perform(get("/api/tasks/search")
+                        .param("status", "TODO")
+                        .param("after", "aWQ6MQ"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
     @Test
     void searchAndFilterTasks_WithSearchQuery_ShouldReturnFilteredTasks() throws Exception {
         // Given
-        List<Task> tasks = Arrays.asList(testTask);
+        List<TaskView> tasks = Arrays.asList(testTaskView);
         when(taskService.searchAndFilter(eq("test"), isNull(), isNull(), isNull(), isNull()))
                 .thenReturn(tasks);
 
@@ -85,7 +203,7 @@ class TaskControllerTest {
     @Test
     void searchAndFilterTasks_WithStatus_ShouldReturnFilteredTasks() throws Exception {
         // Given
-        List<Task> tasks = Arrays.asList(testTask);
+        List<TaskView> tasks = Arrays.asList(testTaskView);
         when(taskService.searchAndFilter(isNull(), eq(TaskStatus.TODO), isNull(), isNull(), isNull()))
                 .thenReturn(tasks);
 
@@ -102,7 +220,7 @@ class TaskControllerTest {
     @Test
     void searchAndFilterTasks_WithDateRange_ShouldReturnFilteredTasks() throws Exception {
         // Given
-        List<Task> tasks = Arrays.asList(testTask);
+        List<TaskView> tasks = Arrays.asList(testTaskView);
         LocalDate startDate = LocalDate.of(2026, 1, 1);
         LocalDate endDate = LocalDate.of(2026, 1, 31);
         
@@ -122,7 +240,7 @@ class TaskControllerTest {
     @Test
     void searchAndFilterTasks_WithCategory_ShouldReturnFilteredTasks() throws Exception {
         // Given
-        List<Task> tasks = Arrays.asList(testTask);
+        List<TaskView> tasks = Arrays.asList(testTaskView);
         when(taskService.searchAndFilter(isNull(), isNull(), isNull(), isNull(), eq("Work")))
                 .thenReturn(tasks);
 
@@ -136,6 +254,27 @@ class TaskControllerTest {
         verify(taskService, times(1)).searchAndFilter(isNull(), isNull(), isNull(), isNull(), eq("Work"));
     }
 
+    @Test
+    void streamChanges_ShouldOpenEventStream() throws Exception {
+        // Given
+        SseEmitter emitter = new SseEmitter();
+        when(changeFeed.subscribe()).thenReturn(emitter);
+
+        // When
+        MvcResult result = mockMvc.perform(get("/api/tasks/stream")
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        emitter.send(SseEmitter.event().name("created").data("{\"id\":1}", MediaType.APPLICATION_JSON));
+        emitter.complete();
+
+        // Then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(content().string(containsString("event:created\ndata:{\"id\":1}")));
+    }
+
     @Test
     void getAllCategories_ShouldReturnListOfCategories() throws Exception {
         // Given
@@ -153,6 +292,23 @@ class TaskControllerTest {
         verify(taskService, times(1)).getAllCategories();
     }
 
+    @Test
+    void getAllCategories_WithCounts_ShouldReturnCategoryCounts() throws Exception {
+        // Given
+        when(taskService.getCategoryCounts()).thenReturn(List.of(
+                new CategoryCount("Personal", 1), new CategoryCount("Work", 3)));
+
+        // When & Then
+        mockMvc.perform(get("/api/tasks/categories")
+                        .param("withCounts", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[1].category", is("Work")))
+                .andExpect(jsonPath("$[1].count", is(3)));
+
+        verify(taskService, never()).getAllCategories();
+    }
+
     @Test
     void getTaskById_WhenTaskExists_ShouldReturnTask() throws Exception {
         // Given
@@ -250,7 +406,7 @@ class TaskControllerTest {
         returnedTask.setDueDate(updatedTask.getDueDate());
         returnedTask.setCategory(updatedTask.getCategory());
 
-        when(taskService.updateTask(eq(1L), any(Task.class))).thenReturn(returnedTask);
+        when(taskService.updateTask(eq(1L), any(Task.class), isNull())).thenReturn(returnedTask);
 
         // When & Then
         mockMvc.perform(put("/api/tasks/1")
@@ -262,7 +418,7 @@ class TaskControllerTest {
                 .andExpect(jsonPath("$.status", is("IN_PROGRESS")))
                 .andExpect(jsonPath("$.category", is("Personal")));
 
-        verify(taskService, times(1)).updateTask(eq(1L), any(Task.class));
+        verify(taskService, times(1)).updateTask(eq(1L), any(Task.class), isNull());
     }
 
     @Test
@@ -272,8 +428,8 @@ class TaskControllerTest {
         updatedTask.setTitle("Updated Task");
         updatedTask.setStatus(TaskStatus.TODO);
 
-        when(taskService.updateTask(eq(999L), any(Task.class)))
-                .thenThrow(new RuntimeException("Task not found with id: 999"));
+        when(taskService.updateTask(eq(999L), any(Task.class), isNull()))
+                .thenThrow(new TaskNotFoundException(999L));
 
         // When & Then
         mockMvc.perform(put("/api/tasks/999")
@@ -281,31 +437,325 @@ class TaskControllerTest {
                         .content(objectMapper.writeValueAsString(updatedTask)))
                 .andExpect(status().isNotFound());
 
-        verify(taskService, times(1)).updateTask(eq(999L), any(Task.class));
+        verify(taskService, times(1)).updateTask(eq(999L), any(Task.class), isNull());
+    }
+
+    @Test
+    void patchTask_ShouldPassOnlyPresentFields() throws Exception {
+        // Given
+        Task returnedTask = new Task();
+        returnedTask.setId(1L);
+        returnedTask.setTitle("Test Task");
+        returnedTask.setStatus(TaskStatus.DONE);
+        TaskPatch expectedPatch = new TaskPatch(null, Optional.empty(), Optional.of(TaskStatus.DONE), null, null);
+        when(taskService.patchTask(1L, expectedPatch, null)).thenReturn(returnedTask);
+
+        // When & Then
+        mockMvc.perform(patch("/api/tasks/1")
+                        .contentType("application/merge-patch+json")
+                        .content("{\"status\": \"DONE\", \"description\": null}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status", is("DONE")));
+
+        verify(taskService, times(1)).patchTask(1L, expectedPatch, null);
+    }
+
+    @Test
+    void patchTask_WhenClearingTitle_ShouldReturnBadRequest() throws Exception {
+        // When & Then
+        mockMvc.perform(patch("/api/tasks/1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\": null}"))
+                .andExpect(status().isBadRequest());
+
+        verify(taskService, never()).patchTask(any(), any(), any());
+    }
+
+    @Test
+    void patchTask_WithIfMatch_ShouldPassVersionAndReturnNewETag() throws Exception {
+        // Given
+        TaskPatch expectedPatch = new TaskPatch(null, null, Optional.of(TaskStatus.DONE), null, null);
+        Task returnedTask = new Task();
+        returnedTask.setId(1L);
+        returnedTask.setTitle("Test Task");
+        returnedTask.setStatus(TaskStatus.DONE);
+        returnedTask.setVersion(3L);
+        when(taskService.patchTask(1L, expectedPatch, 2L)).thenReturn(returnedTask);
+
+        // When & Then
+        mockMvc.perform(patch("/api/tasks/1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header(HttpHeaders.IF_MATCH, "\"2\"")
+                        .content("{\"status\": \"DONE\"}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""))
+                .andExpect(jsonPath("$.version", is(3)));
+    }
+
+    @Test
+    void updateTask_WhenIfMatchIsStale_ShouldReturnPreconditionFailed() throws Exception {
+        // Given
+        Task updatedTask = new Task();
+        updatedTask.setTitle("Updated Task");
+        updatedTask.setStatus(TaskStatus.TODO);
+        when(taskService.updateTask(eq(1L), any(Task.class), eq(1L)))
+                .thenThrow(new TaskVersionConflictException(1L));
+
+        // When & Then
+        mockMvc.perform(put("/api/tasks/1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header(HttpHeaders.IF_MATCH, "\"1\"")
+                        .content(objectMapper.writeValueAsString(updatedTask)))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.status", is(412)));
+    }
+
+    @Test
+    void deleteTask_WithWeakIfMatch_ShouldNeverMatch() throws Exception {
+        // Given
+        doThrow(new TaskVersionConflictException(1L))
+                .when(taskService).deleteTask(1L, -1L);
+
+        // When & Then
+        mockMvc.perform(delete("/api/tasks/1")
+                        .header(HttpHeaders.IF_MATCH, "W/\"2\""))
+                .andExpect(status().isPreconditionFailed());
+
+        verify(taskService, times(1)).deleteTask(1L, -1L);
     }
 
     @Test
     void deleteTask_WhenTaskExists_ShouldReturnNoContent() throws Exception {
         // Given
-        doNothing().when(taskService).deleteTask(1L);
+        doNothing().when(taskService).deleteTask(1L, null);
 
         // When & Then
         mockMvc.perform(delete("/api/tasks/1"))
                 .andExpect(status().isNoContent());
 
-        verify(taskService, times(1)).deleteTask(1L);
+        verify(taskService, times(1)).deleteTask(1L, null);
     }
 
     @Test
     void deleteTask_WhenTaskDoesNotExist_ShouldReturnNotFound() throws Exception {
         // Given
-        doThrow(new RuntimeException("Task not found with id: 999"))
-                .when(taskService).deleteTask(999L);
+        doThrow(new TaskNotFoundException(999L))
+                .when(taskService).deleteTask(999L, null);
 
         // When & Then
         mockMvc.perform(delete("/api/tasks/999"))
-                .andExpect(status().isNotFound());
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message", is("Task not found with id: 999")));
 
-        verify(taskService, times(1)).deleteTask(999L);
+        verify(taskService, times(1)).deleteTask(999L, null);
+    }
+
+    @Test
+    void getAllTasks_WithIds_ShouldReturnRequestedTasks() throws Exception {
+        // Given
+        when(taskService.getTasksByIds(List.of(1L, 2L))).thenReturn(List.of(testTaskView));
+
+        // When & Then
+        mockMvc.perform(get("/api/tasks")
+                        .param("ids", "1,2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id", is(1)));
+
+        verify(taskService, never()).getAllTasks();
+    }
+
+    @Test
+    void createTasks_ShouldReturnPerItemResults() throws Exception {
+        // Given
+        Task newTask = new Task();
+        newTask.setTitle("New Task");
+        when(taskService.createTasks(anyList())).thenReturn(List.of(
+                BatchItemResult.success(0, 5L, HttpStatus.CREATED),
+                BatchItemResult.failure(1, null, HttpStatus.BAD_REQUEST, "title: Title is required")));
+
+        // When & Then
+        mockMvc.perform(post("/api/tasks/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(newTask, new Task()))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].id", is(5)))
+                .andExpect(jsonPath("$[0].status", is(201)))
+                .andExpect(jsonPath("$[1].status", is(400)));
+
+        verify(taskService, times(1)).createTasks(anyList());
+    }
+
+    @Test
+    void deleteTasks_ShouldReturnPerItemResults() throws Exception {
+        // Given
+        when(taskService.deleteTasks(List.of(1L, 999L))).thenReturn(List.of(
+                BatchItemResult.success(0, 1L, HttpStatus.NO_CONTENT),
+                BatchItemResult.failure(1, 999L, HttpStatus.NOT_FOUND, "Task not found with id: 999")));
+
+        // When & Then
+        mockMvc.perform(delete("/api/tasks/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[1, 999]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status", is(204)))
+                .andExpect(jsonPath("$[1].status", is(404)));
+    }
+
+    @Test
+    void exportTasks_ShouldStreamNdjson() throws Exception {
+        // Given
+        when(taskService.exportTasks(any(OutputStream.class))).thenAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(0);
+            out.write("{\"id\":1}\n{\"id\":2}\n".getBytes(StandardCharsets.UTF_8));
+            return 2L;
+        });
+
+        // When
+        MvcResult result = mockMvc.perform(get("/api/tasks/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string("{\"id\":1}\n{\"id\":2}\n"));
+    }
+
+    @Test
+    void getCacheStats_ShouldReturnCacheStatistics() throws Exception {
+        // Given
+        when(taskService.getCacheStats()).thenReturn(new TaskCacheStats(10, 90, 10, 0.9, 2));
+
+        // When & Then
+        mockMvc.perform(get("/api/tasks/cache/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.size", is(10)))
+                .andExpect(jsonPath("$.hitCount", is(90)))
+                .andExpect(jsonPath("$.missCount", is(10)))
+                .andExpect(jsonPath("$.hitRate", is(0.9)))
+                .andExpect(jsonPath("$.evictionCount", is(2)));
+    }
+
+    @Test
+    void getStats_WithFilters_ShouldReturnAggregates() throws Exception {
+        // Given
+        TaskStats stats = new TaskStats(3, Map.of(TaskStatus.TODO, 2L, TaskStatus.IN_PROGRESS, 0L, TaskStatus.DONE, 1L),
+                Map.of("Work", 3L), new DueDateSummary(1, 0, 1, 0, 0));
+        when(taskService.getDataVersionTag()).thenReturn("abc-7");
+        when(taskService.getStats(isNull(), isNull(), isNull(), isNull(), eq("Work"))).thenReturn(stats);
+
+        // When & Then - the due-date buckets move at midnight, so the ETag carries the date
+        mockMvc.perform(get("/api/tasks/stats")
+                        .param("category", "Work"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"abc-7-" + LocalDate.now() + "\""))
+                .andExpect(jsonPath("$.total", is(3)))
+                .andExpect(jsonPath("$.byStatus.TODO", is(2)))
+                .andExpect(jsonPath("$.byCategory.Work", is(3)))
+                .andExpect(jsonPath("$.dueDates.overdue", is(1)));
+    }
+
+    @Test
+    void getOverdueTasks_ShouldReturnTasksWithDatedETag() throws Exception {
+        // Given
+        when(taskService.getDataVersionTag()).thenReturn("abc-7");
+        when(taskService.getOverdueTasks(10)).thenReturn(List.of(testTaskView));
+
+        // When & Then
+        mockMvc.perform(get("/api/tasks/overdue")
+                        .param("limit", "10"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"abc-7-" + LocalDate.now() + "\""))
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id", is(1)));
+    }
+
+    @Test
+    void getDueSoonTasks_ShouldPassDaysAndLimit() throws Exception {
+        // Given
+        when(taskService.getDueSoonTasks(3, null)).thenReturn(List.of(testTaskView));
+
+        // When & Then
+        mockMvc.perform(get("/api/tasks/due-soon")
+                        .param("days", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)));
+
+        verify(taskService).getDueSoonTasks(3, null);
+    }
+
+    @Test
+    void getDueSoonTasks_WhenNothingChangedToday_ShouldReturnNotModified() throws Exception {
+        // Given
+        when(taskService.getDataVersionTag()).thenReturn("abc-7");
+
+        // When & Then
+        mockMvc.perform(get("/api/tasks/due-soon")
+                        .header(HttpHeaders.IF_NONE_MATCH, "W/\"abc-7-" + LocalDate.now() + "\""))
+                .andExpect(status().isNotModified());
+
+        verify(taskService, never()).getDueSoonTasks(any(), any());
+    }
+
+    @Test
+    void getAllTasks_WhenDataVersionMatchesIfNoneMatch_ShouldReturnNotModifiedWithoutQuerying() throws Exception {
+        // Given
+        when(taskService.getDataVersionTag()).thenReturn("abc-7");
+
+        // When & Then
+        mockMvc.perform(get("/api/tasks")
+                        .header(HttpHeaders.IF_NONE_MATCH, "W/\"abc-7\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"abc-7\""))
+                .andExpect(content().string(""));
+
+        verify(taskService, never()).getAllTasks();
+    }
+
+    @Test
+    void searchAndFilterTasks_WhenDataVersionChanged_ShouldReturnTasksWithNewETag() throws Exception {
+        // Given
+        when(taskService.getDataVersionTag()).thenReturn("abc-8");
+        when(taskService.searchAndFilter(isNull(), eq(TaskStatus.TODO), isNull(), isNull(), isNull()))
+                .thenReturn(List.of(testTaskView));
+
+        // When & Then
+        mockMvc.perform(get("/api/tasks/search")
+                        .param("status", "TODO")
+                        .header(HttpHeaders.IF_NONE_MATCH, "W/\"abc-7\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"abc-8\""))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+                .andExpect(jsonPath("$", hasSize(1)));
+    }
+
+    @Test
+    void getTaskById_WhenETagMatches_ShouldReturnNotModified() throws Exception {
+        // Given
+        when(taskService.getTaskById(1L)).thenReturn(Optional.of(testTask));
+        String etag = mockMvc.perform(get("/api/tasks/1"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // When & Then
+        mockMvc.perform(get("/api/tasks/1")
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void getAllTasks_WhenConnectionPoolExhausted_ShouldReturnServiceUnavailable() throws Exception {
+        // Given
+        when(taskService.getAllTasks())
+                .thenThrow(new CannotCreateTransactionException("Connection is not available, request timed out"));
+
+        // When & Then
+        mockMvc.perform(get("/api/tasks"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.status", is(503)));
     }
 }
@@ -0,0 +1,243 @@
+package com.taskio.journal;
+
+import com.taskio.model.Task;
+import com.taskio.model.TaskStatus;
+import com.taskio.repository.TaskRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+// Runs without a test transaction: restoring and snapshotting read and write the table directly
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class JournalStoreTest {
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @TempDir
+    Path directory;
+
+    private JournalStore store;
+
+    @AfterEach
+    void tearDown() {
+        if (store != null) {
+            store.close();
+        }
+        taskRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void codec_ShouldRoundTripRecords() {
+        // Given
+        byte[] put = JournalCodec.encodePut(7L, 3L, "Résumé", null, TaskStatus.IN_PROGRESS,
+                LocalDate.of(2025, 1, 31), "work");
+        byte[] delete = JournalCodec.encodeDelete(8L);
+
+        // When
+        JournalEntry decodedPut = JournalCodec.decode(1L, ByteBuffer.wrap(put));
+        JournalEntry decodedDelete = JournalCodec.decode(2L, ByteBuffer.wrap(delete));
+
+        // Then
+        assertThat(decodedPut).isEqualTo(new JournalEntry(1L, false, 7L, 3L, "Résumé", null,
+                TaskStatus.IN_PROGRESS, LocalDate.of(2025, 1, 31), "work"));
+        assertThat(decodedDelete).isEqualTo(JournalEntry.deletion(2L, 8L));
+    }
+
+    @Test
+    void open_ShouldRestoreSnapshotAndJournalIntoEmptyTable() throws IOException {
+        // Given - two tasks in a snapshot, then an update, a deletion and a create in the journal
+        store = open();
+        Task first = taskRepository.save(task("First"));
+        Task second = taskRepository.save(task("Second"));
+        store.append(List.of(JournalCodec.encodePut(first), JournalCodec.encodePut(second)));
+        assertThat(store.snapshot()).isTrue();
+
+        first.setTitle("First, renamed");
+        first = taskRepository.save(first);
+        Task third = taskRepository.save(task("Third"));
+        taskRepository.deleteById(second.getId());
+        store.append(List.of(JournalCodec.encodePut(first), JournalCodec.encodePut(third),
+                JournalCodec.encodeDelete(second.getId())));
+        store.close();
+        taskRepository.deleteAllInBatch();
+
+        // When
+        store = new JournalStore(directory, jdbcTemplate);
+        JournalStore.Recovery recovery = store.open();
+
+        // Then
+        assertThat(recovery.restored()).isTrue();
+        assertThat(recovery.tasks()).isEqualTo(2);
+        assertThat(recovery.records()).isEqualTo(3);
+        assertThat(taskRepository.findAll())
+                .extracting(Task::getTitle, Task::getVersion)
+                .containsExactlyInAnyOrder(
+                        tuple("First, renamed", 1L),
+                        tuple("Third", 0L));
+        // New ids continue after the restored ones
+        assertThat(taskRepository.save(task("Fourth")).getId()).isGreaterThan(third.getId());
+    }
+
+    @Test
+    void open_WhenJournalEndsInATornWrite_ShouldKeepTheRecordsBeforeIt() throws IOException {
+        // Given
+        store = open();
+        Task first = taskRepository.save(task("First"));
+        Task second = taskRepository.save(task("Second"));
+        store.append(List.of(JournalCodec.encodePut(first)));
+        store.append(List.of(JournalCodec.encodePut(second)));
+        store.close();
+        Path segment = onlySegment();
+        Files.write(segment, new byte[]{0, 0, 0, 40, 0, 0, 0}, StandardOpenOption.APPEND);
+        taskRepository.deleteAllInBatch();
+
+        // When
+        store = new JournalStore(directory, jdbcTemplate);
+        JournalStore.Recovery recovery = store.open();
+        store.append(List.of(JournalCodec.encodeDelete(first.getId())));
+        store.close();
+        taskRepository.deleteAllInBatch();
+        store = new JournalStore(directory, jdbcTemplate);
+        JournalStore.Recovery afterAppend = store.open();
+
+        // Then - the torn record is ignored and appends continue in a new segment
+        assertThat(recovery.tasks()).isEqualTo(2);
+        assertThat(recovery.lastSequence()).isEqualTo(2);
+        assertThat(afterAppend.lastSequence()).isEqualTo(3);
+        assertThat(taskRepository.findAll()).extracting(Task::getTitle).containsExactly("Second");
+    }
+
+    @Test
+    void open_WhenTableHasRows_ShouldNotRestore() throws IOException {
+        // Given
+        store = open();
+        Task first = taskRepository.save(task("First"));
+        store.append(List.of(JournalCodec.encodePut(first)));
+        store.close();
+
+        // When
+        store = new JournalStore(directory, jdbcTemplate);
+        JournalStore.Recovery recovery = store.open();
+
+        // Then
+        assertThat(recovery.restored()).isFalse();
+        assertThat(recovery.lastSequence()).isEqualTo(1);
+        assertThat(taskRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void open_WhenHighestIdWasDeleted_ShouldRestartSequenceAboveIt() throws IOException {
+        // Given - the journal's highest id only appears in a deletion
+        store = open();
+        Task first = taskRepository.save(task("First"));
+        long deletedId = first.getId() + 1000;
+        store.append(List.of(JournalCodec.encodePut(first), JournalCodec.encodeDelete(deletedId)));
+        store.close();
+        taskRepository.deleteAllInBatch();
+
+        // When
+        store = new JournalStore(directory, jdbcTemplate);
+        store.open();
+
+        // Then - the whole next block of ids lies above the deleted id
+        assertThat(nextIdBlockStart()).isGreaterThan(deletedId);
+    }
+
+    @Test
+    void open_ShouldRestartSequenceAboveIdsHandedOutBeforeSnapshot() throws IOException {
+        // Given - a block of ids was handed out, and its tasks deleted, before the snapshot
+        store = open();
+        Task first = taskRepository.save(task("First"));
+        store.append(List.of(JournalCodec.encodePut(first)));
+        long handedOut = jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR tasks_seq", Long.class);
+        assertThat(store.snapshot()).isTrue();
+        store.close();
+        taskRepository.deleteAllInBatch();
+
+        // When
+        store = new JournalStore(directory, jdbcTemplate);
+        JournalStore.Recovery recovery = store.open();
+
+        // Then - restored from the snapshot alone, which does not contain the deleted tasks
+        assertThat(recovery.records()).isZero();
+        assertThat(recovery.tasks()).isEqualTo(1);
+        assertThat(nextIdBlockStart()).isGreaterThan(handedOut);
+    }
+
+    @Test
+    void append_AfterFailedWrite_ShouldContinueInNewSegment() throws IOException {
+        // Given - the segment can no longer be written
+        store = open();
+        Task first = taskRepository.save(task("First"));
+        Task second = taskRepository.save(task("Second"));
+        ((FileChannel) ReflectionTestUtils.getField(store, "segment")).close();
+
+        // When
+        assertThatThrownBy(() -> store.append(List.of(JournalCodec.encodePut(first))))
+                .isInstanceOf(UncheckedIOException.class);
+        store.append(List.of(JournalCodec.encodePut(second)));
+        store.close();
+        taskRepository.deleteAllInBatch();
+        store = new JournalStore(directory, jdbcTemplate);
+        JournalStore.Recovery recovery = store.open();
+
+        // Then - only the failed record is missing
+        assertThat(recovery.tasks()).isEqualTo(1);
+        assertThat(taskRepository.findAll()).extracting(Task::getTitle).containsExactly("Second");
+    }
+
+    private JournalStore open() throws IOException {
+        JournalStore journalStore = new JournalStore(directory, jdbcTemplate);
+        journalStore.open();
+        return journalStore;
+    }
+
+    // Lowest id Hibernate hands out from the block it reserves next
+    private long nextIdBlockStart() {
+        return jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR tasks_seq", Long.class) - 49;
+    }
+
+    private Path onlySegment() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            List<Path> segments = files.filter(path -> path.getFileName().toString().startsWith("journal-"))
+                    .sorted()
+                    .toList();
+            assertThat(segments).hasSize(1);
+            return segments.get(0);
+        }
+    }
+
+    private static Task task(String title) {
+        Task task = new Task();
+        task.setTitle(title);
+        task.setStatus(TaskStatus.TODO);
+        task.setCategory("work");
+        return task;
+    }
+}
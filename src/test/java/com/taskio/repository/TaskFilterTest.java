@@ -0,0 +1,96 @@
+package com.taskio.repository;
+
+import com.taskio.dto.TaskView;
+import com.taskio.model.Task;
+import com.taskio.model.TaskStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+class TaskFilterTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    private Task report;
+    private Task invoice;
+    private Task groceries;
+
+    @BeforeEach
+    void setUp() {
+        report = persist("Quarterly report", "Numbers for the board", TaskStatus.TODO, LocalDate.of(2026, 1, 10), "Work");
+        invoice = persist("Send invoice", "Monthly REPORT attached", TaskStatus.DONE, LocalDate.of(2026, 2, 1), "Work");
+        groceries = persist("Buy groceries", null, TaskStatus.TODO, null, "Personal");
+    }
+
+    @Test
+    void findAll_WithNoFilters_ShouldReturnAllTasks() {
+        assertThat(taskRepository.findAll(new TaskFilter(null, null, null, null, null)))
+                .containsExactlyInAnyOrder(report, invoice, groceries);
+    }
+
+    @Test
+    void findAll_WithSearchTerm_ShouldMatchTitleOrDescriptionCaseInsensitively() {
+        assertThat(taskRepository.findAll(new TaskFilter("report", null, null, null, null)))
+                .containsExactlyInAnyOrder(report, invoice);
+    }
+
+    @Test
+    void findAll_WithStatusAndDateRange_ShouldCombineFilters() {
+        List<Task> result = taskRepository.findAll(
+                new TaskFilter(null, TaskStatus.TODO, LocalDate.of(2026, 1, 1), LocalDate.of(2026, 1, 31), null));
+
+        assertThat(result).containsExactly(report);
+    }
+
+    @Test
+    void findViews_ShouldProjectMatchingTasksInIdOrder() {
+        List<TaskView> result = taskRepository.findViews(new TaskFilter("report", null, null, null, null), Limit.unlimited());
+
+        assertThat(result).containsExactly(
+                new TaskView(report.getId(), "Quarterly report", "Numbers for the board", TaskStatus.TODO,
+                        LocalDate.of(2026, 1, 10), "Work", 0L),
+                new TaskView(invoice.getId(), "Send invoice", "Monthly REPORT attached", TaskStatus.DONE,
+                        LocalDate.of(2026, 2, 1), "Work", 0L));
+    }
+
+    @Test
+    void findByFilterAfter_ShouldReturnNextPageInIdOrder() {
+        TaskFilter filter = new TaskFilter(null, null, null, null, "Work");
+
+        assertThat(taskRepository.findByFilterAfter(filter, 0L, Limit.of(1)))
+                .extracting(TaskView::id).containsExactly(report.getId());
+        assertThat(taskRepository.findByFilterAfter(filter, report.getId(), Limit.of(10)))
+                .extracting(TaskView::id).containsExactly(invoice.getId());
+    }
+
+    @Test
+    void findByIdInAndFilter_ShouldOnlyReturnMatchingCandidates() {
+        TaskFilter filter = new TaskFilter(null, TaskStatus.TODO, null, null, null);
+
+        assertThat(taskRepository.findByIdInAndFilter(List.of(invoice.getId(), groceries.getId()), filter))
+                .containsExactly(new TaskView(groceries.getId(), "Buy groceries", null, TaskStatus.TODO, null, "Personal", 0L));
+    }
+
+    private Task persist(String title, String description, TaskStatus status, LocalDate dueDate, String category) {
+        Task task = new Task();
+        task.setTitle(title);
+        task.setDescription(description);
+        task.setStatus(status);
+        task.setDueDate(dueDate);
+        task.setCategory(category);
+        return entityManager.persistAndFlush(task);
+    }
+}
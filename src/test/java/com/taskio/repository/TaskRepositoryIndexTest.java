@@ -0,0 +1,103 @@
+package com.taskio.repository;
+
+import com.taskio.config.QueryCountStatementInspector;
+import com.taskio.model.TaskStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Runs the Flyway migrations against H2 and checks that the SQL Hibernate generates for the
+// TaskRepository queries and filters is planned with the secondary indexes rather than a table scan.
+// The statements are captured as Hibernate prepares them and explained with the same values bound.
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.taskio.repository.TaskRepositoryIndexTest$CapturingStatementInspector")
+class TaskRepositoryIndexTest {
+
+    private static final LocalDate START = LocalDate.of(2026, 1, 1);
+    private static final LocalDate END = LocalDate.of(2026, 1, 31);
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        CapturingStatementInspector.CAPTURED.remove();
+    }
+
+    @Test
+    void findByStatus_ShouldUseStatusIndex() {
+        String sql = capture(() -> taskRepository.findByStatus(TaskStatus.TODO));
+
+        assertThat(explain(sql, "TODO")).contains("IDX_TASKS_STATUS");
+    }
+
+    @Test
+    void findByDueDateBetween_ShouldUseDueDateIndex() {
+        String sql = capture(() -> taskRepository.findByDueDateBetween(START, END));
+
+        assertThat(explain(sql, START, END)).contains("IDX_TASKS_DUE_DATE");
+    }
+
+    @Test
+    void categoryFilter_ShouldUseCategoryIndex() {
+        TaskFilter filter = new TaskFilter(null, null, null, null, "Work");
+
+        String sql = capture(() -> taskRepository.findViews(filter, Limit.unlimited()));
+
+        assertThat(explain(sql, "Work")).contains("IDX_TASKS_CATEGORY");
+    }
+
+    @Test
+    void statusAndDueDateFilter_ShouldUseCompositeIndex() {
+        TaskFilter filter = new TaskFilter(null, TaskStatus.TODO, null, END, null);
+
+        String sql = capture(() -> taskRepository.findViews(filter, Limit.unlimited()));
+
+        assertThat(explain(sql, "TODO", END)).contains("IDX_TASKS_STATUS_DUE_DATE");
+    }
+
+    @Test
+    void findDistinctCategories_ShouldReadCategoryIndexInOrder() {
+        String sql = capture(() -> taskRepository.findDistinctCategories());
+
+        assertThat(explain(sql)).contains("IDX_TASKS_CATEGORY");
+    }
+
+    // The one statement Hibernate prepared to run the query
+    private static String capture(Runnable query) {
+        List<String> captured = CapturingStatementInspector.CAPTURED.get();
+        captured.clear();
+        query.run();
+        assertThat(captured).hasSize(1);
+        return captured.get(0);
+    }
+
+    // Values are bound in the order of the statement's parameters, enums by name as they are stored
+    private String explain(String sql, Object... values) {
+        return jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class, values).toUpperCase();
+    }
+
+    // Keeps the per-request query count working and records each statement on the current thread
+    public static class CapturingStatementInspector extends QueryCountStatementInspector {
+
+        static final ThreadLocal<List<String>> CAPTURED = ThreadLocal.withInitial(ArrayList::new);
+
+        @Override
+        public String inspect(String sql) {
+            CAPTURED.get().add(sql);
+            return super.inspect(sql);
+        }
+    }
+}
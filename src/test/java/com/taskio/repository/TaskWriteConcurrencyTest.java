@@ -0,0 +1,83 @@
+package com.taskio.repository;
+
+import com.taskio.dto.TaskPatch;
+import com.taskio.model.Task;
+import com.taskio.model.TaskStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Runs without a test transaction so that every write commits and the writers really race
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TaskWriteConcurrencyTest {
+
+    private static final int WRITERS = 8;
+    private static final int INCREMENTS_PER_WRITER = 25;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @AfterEach
+    void tearDown() {
+        taskRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void conditionalPatches_FromParallelWriters_ShouldNotLoseUpdates() throws Exception {
+        // Given - a counter kept in the title, incremented by read-modify-write
+        Task counter = new Task();
+        counter.setTitle("0");
+        counter.setStatus(TaskStatus.TODO);
+        Long id = taskRepository.save(counter).getId();
+
+        Callable<Integer> writer = () -> {
+            int conflicts = 0;
+            for (int i = 0; i < INCREMENTS_PER_WRITER; i++) {
+                while (true) {
+                    Task current = taskRepository.findById(id).orElseThrow();
+                    String next = Integer.toString(Integer.parseInt(current.getTitle()) + 1);
+                    TaskPatch patch = new TaskPatch(Optional.of(next), null, null, null, null);
+                    if (taskRepository.patchReturningPrevious(id, patch, current.getVersion()).isPresent()) {
+                        break;
+                    }
+                    conflicts++;
+                }
+            }
+            return conflicts;
+        };
+
+        // When
+        ExecutorService executor = Executors.newFixedThreadPool(WRITERS);
+        List<Future<Integer>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < WRITERS; i++) {
+                results.add(executor.submit(writer));
+            }
+            for (Future<Integer> result : results) {
+                result.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Then - every increment landed exactly once
+        Task task = taskRepository.findById(id).orElseThrow();
+        assertThat(task.getTitle()).isEqualTo(Integer.toString(WRITERS * INCREMENTS_PER_WRITER));
+        assertThat(task.getVersion()).isEqualTo((long) WRITERS * INCREMENTS_PER_WRITER);
+    }
+}
@@ -0,0 +1,146 @@
+package com.taskio.repository;
+
+import com.taskio.dto.TaskPatch;
+import com.taskio.model.Task;
+import com.taskio.model.TaskStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+class TaskWriteRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskWriteRepositoryImpl writeRepository;
+
+    private Long id;
+
+    @BeforeEach
+    void setUp() {
+        Task task = new Task();
+        task.setTitle("Quarterly report");
+        task.setDescription("Numbers for the board");
+        task.setStatus(TaskStatus.TODO);
+        task.setDueDate(LocalDate.of(2026, 1, 10));
+        task.setCategory("Work");
+        id = entityManager.persistAndFlush(task).getId();
+        entityManager.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        useDeltaTables(true);
+    }
+
+    @Test
+    void patchReturningPrevious_ShouldUpdateOnlyPatchedColumnsAndReturnOldRow() {
+        TaskPatch patch = new TaskPatch(null, Optional.empty(), Optional.of(TaskStatus.DONE), null, null);
+
+        Optional<Task> previous = taskRepository.patchReturningPrevious(id, patch, null);
+
+        assertThat(previous).hasValueSatisfying(task -> {
+            assertThat(task.getStatus()).isEqualTo(TaskStatus.TODO);
+            assertThat(task.getDescription()).isEqualTo("Numbers for the board");
+        });
+        Task current = entityManager.find(Task.class, id);
+        assertThat(current.getStatus()).isEqualTo(TaskStatus.DONE);
+        assertThat(current.getDescription()).isNull();
+        assertThat(current.getTitle()).isEqualTo("Quarterly report");
+        assertThat(current.getDueDate()).isEqualTo(LocalDate.of(2026, 1, 10));
+        assertThat(current.getVersion()).isEqualTo(1L);
+    }
+
+    @Test
+    void patchReturningPrevious_WithExpectedVersion_ShouldOnlyUpdateThatVersion() {
+        TaskPatch patch = new TaskPatch(Optional.of("Renamed"), null, null, null, null);
+
+        assertThat(taskRepository.patchReturningPrevious(id, patch, 1L)).isEmpty();
+        assertThat(taskRepository.patchReturningPrevious(id, patch, 0L))
+                .hasValueSatisfying(task -> assertThat(task.getVersion()).isZero());
+        assertThat(taskRepository.patchReturningPrevious(id, patch, 0L)).isEmpty();
+        assertThat(entityManager.find(Task.class, id).getVersion()).isEqualTo(1L);
+    }
+
+    @Test
+    void patchReturningPrevious_WhenTaskDoesNotExist_ShouldReturnEmpty() {
+        TaskPatch patch = new TaskPatch(Optional.of("Renamed"), null, null, null, null);
+
+        assertThat(taskRepository.patchReturningPrevious(id + 1000, patch, null)).isEmpty();
+    }
+
+    @Test
+    void deleteReturningPrevious_ShouldDeleteRowAndReturnIt() {
+        assertThat(taskRepository.deleteReturningPrevious(id, null))
+                .hasValueSatisfying(task -> assertThat(task.getCategory()).isEqualTo("Work"));
+        assertThat(entityManager.find(Task.class, id)).isNull();
+        assertThat(taskRepository.deleteReturningPrevious(id, null)).isEmpty();
+    }
+
+    @Test
+    void deleteReturningPrevious_WithStaleVersion_ShouldKeepRow() {
+        assertThat(taskRepository.deleteReturningPrevious(id, 5L)).isEmpty();
+        assertThat(entityManager.find(Task.class, id)).isNotNull();
+    }
+
+    @Test
+    void patchReturningPrevious_WithoutDeltaTables_ShouldLockThenUpdate() {
+        // Given - the path taken on databases other than H2
+        useDeltaTables(false);
+        TaskPatch patch = new TaskPatch(Optional.of("Renamed"), null, Optional.of(TaskStatus.DONE), null, null);
+
+        // When
+        Optional<Task> stale = taskRepository.patchReturningPrevious(id, patch, 1L);
+        Optional<Task> previous = taskRepository.patchReturningPrevious(id, patch, 0L);
+
+        // Then
+        assertThat(stale).isEmpty();
+        assertThat(previous).hasValueSatisfying(task -> {
+            assertThat(task.getTitle()).isEqualTo("Quarterly report");
+            assertThat(task.getStatus()).isEqualTo(TaskStatus.TODO);
+            assertThat(task.getVersion()).isZero();
+        });
+        entityManager.clear();
+        Task current = entityManager.find(Task.class, id);
+        assertThat(current.getTitle()).isEqualTo("Renamed");
+        assertThat(current.getStatus()).isEqualTo(TaskStatus.DONE);
+        assertThat(current.getDescription()).isEqualTo("Numbers for the board");
+        assertThat(current.getVersion()).isEqualTo(1L);
+    }
+
+    @Test
+    void deleteReturningPrevious_WithoutDeltaTables_ShouldLockThenDelete() {
+        // Given
+        useDeltaTables(false);
+
+        // When
+        Optional<Task> stale = taskRepository.deleteReturningPrevious(id, 5L);
+        Optional<Task> previous = taskRepository.deleteReturningPrevious(id, 0L);
+
+        // Then
+        assertThat(stale).isEmpty();
+        assertThat(previous).hasValueSatisfying(task -> assertThat(task.getCategory()).isEqualTo("Work"));
+        entityManager.clear();
+        assertThat(entityManager.find(Task.class, id)).isNull();
+        assertThat(taskRepository.deleteReturningPrevious(id, null)).isEmpty();
+    }
+
+    private void useDeltaTables(boolean deltaTables) {
+        ReflectionTestUtils.setField(AopTestUtils.getTargetObject(writeRepository), "deltaTables", deltaTables);
+    }
+}
@@ -0,0 +1,86 @@
+package com.taskio.service;
+
+import com.taskio.dto.CategoryCount;
+import com.taskio.model.Task;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CategoryDictionaryTest {
+
+    private final CategoryDictionary dictionary = new CategoryDictionary();
+
+    @Test
+    void remove_ShouldDropCategoryWhenCountReachesZero() {
+        // Given
+        dictionary.putAll(List.of(task(1L, "Work", 0), task(2L, "Work", 0), task(3L, "Home", 0)));
+
+        // When
+        dictionary.remove(task(3L, "Home", 0));
+        dictionary.remove(task(1L, "Work", 0));
+
+        // Then
+        assertThat(dictionary.counts()).containsExactly(new CategoryCount("Work", 1L));
+    }
+
+    @Test
+    void remove_WhenTaskIsUnknown_ShouldNotStoreNegativeCount() {
+        // When
+        dictionary.remove(task(1L, "Work", 0));
+        dictionary.put(task(2L, "Work", 0));
+
+        // Then
+        assertThat(dictionary.counts()).containsExactly(new CategoryCount("Work", 1L));
+    }
+
+    @Test
+    void put_ShouldMoveTaskBetweenCategories() {
+        // Given
+        dictionary.put(task(1L, "Work", 0));
+
+        // When
+        dictionary.put(task(1L, "Home", 1));
+        dictionary.put(task(2L, "Home", 0));
+
+        // Then
+        assertThat(dictionary.categories()).containsExactly("Home");
+        assertThat(dictionary.counts()).containsExactly(new CategoryCount("Home", 2L));
+    }
+
+    @Test
+    void put_WhenOlderVersionArrivesLast_ShouldKeepNewerCategory() {
+        // Given
+        dictionary.put(task(1L, "Work", 0));
+
+        // When - the hook of version 2 runs before the hook of version 1
+        dictionary.put(task(1L, "Errands", 2));
+        dictionary.put(task(1L, "Home", 1));
+
+        // Then
+        assertThat(dictionary.counts()).containsExactly(new CategoryCount("Errands", 1L));
+    }
+
+    @Test
+    void put_AfterRemove_ShouldNotCountDeletedTask() {
+        // Given
+        dictionary.putAll(List.of(task(1L, "Work", 0), task(2L, "Work", 0)));
+
+        // When - the delete at version 1 is applied before the update that produced it
+        dictionary.remove(task(1L, "Work", 1));
+        dictionary.put(task(1L, "Work", 1));
+
+        // Then
+        assertThat(dictionary.counts()).containsExactly(new CategoryCount("Work", 1L));
+    }
+
+    private static Task task(long id, String category, long version) {
+        Task task = new Task();
+        task.setId(id);
+        task.setTitle("Task " + id);
+        task.setCategory(category);
+        task.setVersion(version);
+        return task;
+    }
+}
@@ -0,0 +1,150 @@
+package com.taskio.service;
+
+import com.taskio.model.Task;
+import com.taskio.model.TaskStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TaskColumnStoreTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 1, 15);
+
+    private TaskColumnStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new TaskColumnStore();
+        store.putAll(List.of(
+                task(1L, TaskStatus.TODO, TODAY, "Work"),
+                task(2L, TaskStatus.DONE, TODAY.plusDays(3), "Home"),
+                task(3L, TaskStatus.TODO, null, "Work"),
+                task(4L, TaskStatus.IN_PROGRESS, TODAY.minusDays(2), null),
+                task(5L, TaskStatus.TODO, TODAY.plusDays(10), "Home")));
+    }
+
+    @Test
+    void matchingIds_ShouldApplyEveryFilterInIdOrder() {
+        assertThat(store.matchingIds(TaskStatus.TODO, null, null, null, 0L, 100)).containsExactly(1L, 3L, 5L);
+        assertThat(store.matchingIds(null, null, null, "Home", 0L, 100)).containsExactly(2L, 5L);
+        assertThat(store.matchingIds(TaskStatus.TODO, TODAY, TODAY.plusDays(10), "Home", 0L, 100)).containsExactly(5L);
+    }
+
+    @Test
+    void matchingIds_WithDateFilter_ShouldSkipTasksWithoutDueDate() {
+        assertThat(store.matchingIds(null, null, TODAY, null, 0L, 100)).containsExactly(1L, 4L);
+        assertThat(store.matchingIds(null, TODAY, null, null, 0L, 100)).containsExactly(1L, 2L, 5L);
+    }
+
+    @Test
+    void matchingIds_ShouldStartAfterIdAndStopAtMaxResults() {
+        assertThat(store.matchingIds(TaskStatus.TODO, null, null, null, 1L, 1)).containsExactly(3L);
+        assertThat(store.matchingIds(TaskStatus.TODO, null, null, null, 5L, 100)).isEmpty();
+    }
+
+    @Test
+    void matchingIds_WithUnknownCategory_ShouldReturnEmpty() {
+        assertThat(store.matchingIds(null, null, null, "Travel", 0L, 100)).isEmpty();
+    }
+
+    @Test
+    void put_ShouldOverwriteExistingRow() {
+        // When
+        store.put(task(3L, TaskStatus.DONE, TODAY, "Travel"));
+
+        // Then
+        assertThat(store.matchingIds(TaskStatus.TODO, null, null, null, 0L, 100)).containsExactly(1L, 5L);
+        assertThat(store.matchingIds(null, null, null, "Travel", 0L, 100)).containsExactly(3L);
+        assertThat(store.size()).isEqualTo(5);
+    }
+
+    @Test
+    void remove_ShouldHideRowAndCompactOnceManyAreDeleted() {
+        // When
+        store.remove(task(1L, TaskStatus.TODO, TODAY, "Work"));
+        store.remove(task(99L, TaskStatus.TODO, null, null));
+
+        // Then
+        assertThat(store.matchingIds(TaskStatus.TODO, null, null, null, 0L, 100)).containsExactly(3L, 5L);
+        assertThat(store.size()).isEqualTo(4);
+
+        // When - enough deletions to compact, then a re-insert between the remaining rows
+        store.remove(task(3L, TaskStatus.TODO, null, "Work"));
+        store.put(task(3L, TaskStatus.TODO, null, "Work"));
+
+        // Then
+        assertThat(store.matchingIds(TaskStatus.TODO, null, null, null, 0L, 100)).containsExactly(3L, 5L);
+        assertThat(store.size()).isEqualTo(4);
+    }
+
+    @Test
+    void put_WhenOlderVersionArrivesLast_ShouldKeepNewerRow() {
+        // Given
+        store.put(versioned(task(6L, TaskStatus.TODO, TODAY, "Work"), 0L));
+
+        // When - the hooks of two concurrent writes run out of order
+        store.put(versioned(task(6L, TaskStatus.DONE, TODAY, "Work"), 2L));
+        store.put(versioned(task(6L, TaskStatus.IN_PROGRESS, TODAY, "Work"), 1L));
+
+        // Then
+        assertThat(store.matchingIds(TaskStatus.DONE, null, null, null, 5L, 100)).containsExactly(6L);
+        assertThat(store.matchingIds(TaskStatus.IN_PROGRESS, null, null, null, 5L, 100)).isEmpty();
+    }
+
+    @Test
+    void put_AfterRemoveAtSameOrNewerVersion_ShouldNotResurrectRow() {
+        // Given
+        store.put(versioned(task(6L, TaskStatus.TODO, TODAY, "Work"), 0L));
+
+        // When - the delete at version 1 is mirrored before the update that produced version 1
+        store.remove(versioned(task(6L, TaskStatus.DONE, TODAY, "Work"), 1L));
+        store.put(versioned(task(6L, TaskStatus.DONE, TODAY, "Work"), 1L));
+
+        // Then
+        assertThat(store.matchingIds(null, null, null, "Work", 5L, 100)).isEmpty();
+        assertThat(store.size()).isEqualTo(5);
+    }
+
+    @Test
+    void retainMatching_ShouldKeepCandidatesWhoseRowsMatch() {
+        assertThat(store.retainMatching(new long[]{2L, 3L, 5L, 7L}, null, null, null, "Home"))
+                .containsExactly(2L, 5L);
+    }
+
+    @Test
+    void putAll_WithManyTasks_ShouldGrowColumns() {
+        // Given
+        List<Task> tasks = new ArrayList<>();
+        for (long id = 10; id < 5010; id++) {
+            tasks.add(task(id, TaskStatus.values()[(int) (id % 3)], TODAY.plusDays(id % 30), "Bulk"));
+        }
+
+        // When
+        store.putAll(tasks);
+
+        // Then
+        assertThat(store.size()).isEqualTo(5005);
+        assertThat(store.matchingIds(null, null, null, "Bulk", 0L, Integer.MAX_VALUE)).hasSize(5000);
+        assertThat(store.estimatedSizeBytes()).isGreaterThanOrEqualTo(5005L * 25);
+    }
+
+    private static Task versioned(Task task, long version) {
+        task.setVersion(version);
+        return task;
+    }
+
+    private static Task task(Long id, TaskStatus status, LocalDate dueDate, String category) {
+        Task task = new Task();
+        task.setId(id);
+        task.setTitle("Task " + id);
+        task.setStatus(status);
+        task.setDueDate(dueDate);
+        task.setCategory(category);
+        return task;
+    }
+}
@@ -0,0 +1,124 @@
+package com.taskio.service;
+
+import com.taskio.model.Task;
+import com.taskio.model.TaskStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TaskDueDateIndexTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 1, 15);
+
+    private TaskDueDateIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new TaskDueDateIndex();
+        index.addAll(List.of(
+                task(1L, TaskStatus.TODO, TODAY.minusDays(1)),
+                task(2L, TaskStatus.IN_PROGRESS, TODAY.minusDays(10)),
+                task(3L, TaskStatus.DONE, TODAY.minusDays(20)),
+                task(4L, TaskStatus.TODO, null),
+                task(5L, TaskStatus.TODO, TODAY),
+                task(6L, TaskStatus.TODO, TODAY.plusDays(3)),
+                task(7L, TaskStatus.TODO, TODAY.minusDays(1))));
+    }
+
+    @Test
+    void addAll_ShouldSkipCompletedTasksAndTasksWithoutDueDate() {
+        assertThat(index.size()).isEqualTo(5);
+    }
+
+    @Test
+    void dueBefore_ShouldReturnEarliestFirstThenById() {
+        assertThat(index.dueBefore(TODAY, 10)).containsExactly(2L, 1L, 7L);
+        assertThat(index.dueBefore(TODAY, 2)).containsExactly(2L, 1L);
+    }
+
+    @Test
+    void dueBetween_ShouldIncludeBothEnds() {
+        assertThat(index.dueBetween(TODAY, TODAY.plusDays(3), 10)).containsExactly(5L, 6L);
+        assertThat(index.dueBetween(TODAY.minusDays(1), TODAY.minusDays(1), 10)).containsExactly(1L, 7L);
+        assertThat(index.dueBetween(TODAY.plusDays(1), TODAY, 10)).isEmpty();
+    }
+
+    @Test
+    void update_ShouldMoveRescheduledTaskAndDropCompletedTask() {
+        // When
+        index.update(task(2L, TaskStatus.IN_PROGRESS, TODAY.plusDays(1)));
+        index.update(task(1L, TaskStatus.DONE, TODAY.minusDays(1)));
+        index.update(task(3L, TaskStatus.TODO, TODAY.minusDays(20)));
+
+        // Then
+        assertThat(index.dueBefore(TODAY, 10)).containsExactly(3L, 7L);
+        assertThat(index.dueBetween(TODAY, TODAY.plusDays(7), 10)).containsExactly(5L, 2L, 6L);
+    }
+
+    @Test
+    void remove_ShouldDropTask() {
+        // When
+        index.remove(task(7L, TaskStatus.TODO, TODAY.minusDays(1)));
+
+        // Then
+        assertThat(index.dueBefore(TODAY, 10)).containsExactly(2L, 1L);
+    }
+
+    @Test
+    void update_WhenOlderVersionArrivesLast_ShouldKeepNewerEntry() {
+        // Given - versions 1 and 2 of task 6, their hooks running in reverse order
+        Task rescheduled = task(6L, TaskStatus.TODO, TODAY.plusDays(5), 1L);
+        Task completed = task(6L, TaskStatus.DONE, TODAY.plusDays(5), 2L);
+
+        // When
+        index.update(completed);
+        index.update(rescheduled);
+
+        // Then
+        assertThat(index.dueBetween(TODAY, TODAY.plusDays(7), 10)).containsExactly(5L);
+        assertThat(index.size()).isEqualTo(4);
+    }
+
+    @Test
+    void update_WhenItArrivesAfterDelete_ShouldNotReaddTask() {
+        // Given
+        Task rescheduled = task(7L, TaskStatus.TODO, TODAY.plusDays(1), 1L);
+        Task deleted = task(7L, TaskStatus.TODO, TODAY.plusDays(1), 1L);
+
+        // When
+        index.remove(deleted);
+        index.update(rescheduled);
+
+        // Then
+        assertThat(index.dueBefore(TODAY.plusDays(7), 10)).containsExactly(2L, 1L, 5L, 6L);
+    }
+
+    @Test
+    void update_ShouldRemoveTheEntryItHoldsNotThePreviousValuesOfTheUpdate() {
+        // When - two updates of task 1, each moving it once
+        index.update(task(1L, TaskStatus.TODO, TODAY.plusDays(2), 1L));
+        index.update(task(1L, TaskStatus.TODO, TODAY.plusDays(4), 2L));
+
+        // Then
+        assertThat(index.dueBetween(TODAY.minusDays(30), TODAY.plusDays(30), 10)).containsExactly(2L, 7L, 5L, 6L, 1L);
+    }
+
+    private static Task task(Long id, TaskStatus status, LocalDate dueDate, long version) {
+        Task task = task(id, status, dueDate);
+        task.setVersion(version);
+        return task;
+    }
+
+    private static Task task(Long id, TaskStatus status, LocalDate dueDate) {
+        Task task = new Task();
+        task.setId(id);
+        task.setTitle("Task " + id);
+        task.setStatus(status);
+        task.setDueDate(dueDate);
+        return task;
+    }
+}
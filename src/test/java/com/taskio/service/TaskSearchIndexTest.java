@@ -0,0 +1,116 @@
+package com.taskio.service;
+
+import com.taskio.model.Task;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TaskSearchIndexTest {
+
+    private TaskSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new TaskSearchIndex();
+        index.addAll(List.of(
+                task(3L, "Write documentation", "API reference"),
+                task(1L, "Fix login bug", "Users cannot sign in"),
+                task(2L, "Write tests", null)));
+    }
+
+    @Test
+    void candidates_ShouldMatchTitleAndDescriptionCaseInsensitively() {
+        assertThat(index.candidates("WRITE")).containsExactly(2L, 3L);
+        assertThat(index.candidates("sign in")).containsExactly(1L);
+        assertThat(index.candidates("api")).containsExactly(3L);
+    }
+
+    @Test
+    void candidates_WhenAnyTrigramIsMissing_ShouldReturnEmpty() {
+        assertThat(index.candidates("deploy")).isEmpty();
+    }
+
+    @Test
+    void candidates_WithShortTerm_ShouldThrowException() {
+        assertThatThrownBy(() -> index.candidates("ab"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void candidates_MayIncludeTasksThatDoNotContainTheTerm() {
+        // Given - "abcab" contains the trigrams of "abcabc" ("abc", "bca", "cab") but not the term
+        Task task = task(4L, "abcab", null);
+        index.add(task);
+
+        // When & Then
+        assertThat(index.candidates("abcabc")).containsExactly(4L);
+        assertThat(TaskSearchIndex.matches(task, "abcabc")).isFalse();
+    }
+
+    @Test
+    void update_ShouldReplaceIndexedText() {
+        // When
+        index.update(task(2L, "Review pull request", "tests are green"));
+
+        // Then
+        assertThat(index.candidates("write")).containsExactly(3L);
+        assertThat(index.candidates("review")).containsExactly(2L);
+        assertThat(index.candidates("tests")).containsExactly(2L);
+    }
+
+    @Test
+    void update_WhenTrigramMovesBetweenTitleAndDescription_ShouldKeepIt() {
+        // Given
+        index.add(task(4L, "Deploy", "Release notes", 0L));
+
+        // When - "deploy" leaves the title but stays in the description
+        index.update(task(4L, "Release", "Deploy notes", 1L));
+
+        // Then
+        assertThat(index.candidates("deploy")).containsExactly(4L);
+        assertThat(index.candidates("release")).containsExactly(4L);
+        assertThat(index.candidates("notes")).containsExactly(4L);
+    }
+
+    @Test
+    void update_WhenOlderVersionArrivesLast_ShouldKeepNewerText() {
+        // Given
+        index.add(task(4L, "Draft plan", null, 0L));
+
+        // When - the hooks of two concurrent writes run out of order
+        index.update(task(4L, "Final plan", null, 2L));
+        index.update(task(4L, "Revised plan", null, 1L));
+
+        // Then
+        assertThat(index.candidates("final")).containsExactly(4L);
+        assertThat(index.candidates("draft")).isEmpty();
+        assertThat(index.candidates("revised")).isEmpty();
+    }
+
+    @Test
+    void remove_ShouldDropTaskFromAllPostings() {
+        // When
+        index.remove(1L);
+
+        // Then
+        assertThat(index.candidates("login")).isEmpty();
+        assertThat(index.candidates("write")).containsExactly(2L, 3L);
+    }
+
+    private static Task task(Long id, String title, String description) {
+        return task(id, title, description, null);
+    }
+
+    private static Task task(Long id, String title, String description, Long version) {
+        Task task = new Task();
+        task.setId(id);
+        task.setTitle(title);
+        task.setDescription(description);
+        task.setVersion(version);
+        return task;
+    }
+}
@@ -0,0 +1,111 @@
+package com.taskio.service;
+
+import com.taskio.model.Task;
+import com.taskio.model.TaskStatus;
+import com.taskio.repository.TaskRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// Batch writes joined to an outer transaction that rolls back must leave the in-memory indexes as
+// they were; the column store is enabled so that status filters are answered from the mirror
+@SpringBootTest(properties = "taskio.column-store.enabled=true")
+@AutoConfigureMockMvc
+class TaskServiceRollbackTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Task report;
+
+    @BeforeEach
+    void setUp() {
+        report = taskService.createTask(task("Quarterly report", "Work", TaskStatus.TODO));
+    }
+
+    @AfterEach
+    void tearDown() {
+        taskRepository.deleteAllInBatch();
+        taskService.buildIndexes();
+    }
+
+    @Test
+    void batchWrites_WhenTransactionRollsBack_ShouldNotChangeIndexes() throws Exception {
+        // Given
+        Task update = task("Annual summary", "Home", TaskStatus.DONE);
+        update.setId(report.getId());
+
+        // When
+        transactionTemplate.executeWithoutResult(status -> {
+            taskService.updateTasks(List.of(update));
+            taskService.createTasks(List.of(task("Phantom invoice", "Phantom", TaskStatus.TODO)));
+            status.setRollbackOnly();
+        });
+
+        // Then
+        assertUnchanged();
+        mockMvc.perform(get("/api/tasks/search").param("q", "Annual"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+    }
+
+    @Test
+    void deleteTasks_WhenTransactionRollsBack_ShouldKeepTaskIndexed() throws Exception {
+        // When
+        transactionTemplate.executeWithoutResult(status -> {
+            taskService.deleteTasks(List.of(report.getId()));
+            status.setRollbackOnly();
+        });
+
+        // Then
+        assertUnchanged();
+    }
+
+    private void assertUnchanged() throws Exception {
+        int id = report.getId().intValue();
+        mockMvc.perform(get("/api/tasks/search").param("q", "Quarterly"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id", contains(id)));
+        mockMvc.perform(get("/api/tasks/search").param("status", "TODO"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id", contains(id)));
+        mockMvc.perform(get("/api/tasks/categories").param("withCounts", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].category", is("Work")))
+                .andExpect(jsonPath("$[0].count", is(1)));
+        mockMvc.perform(get("/api/tasks/overdue"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id", contains(id)));
+    }
+
+    private static Task task(String title, String category, TaskStatus status) {
+        Task task = new Task();
+        task.setTitle(title);
+        task.setCategory(category);
+        task.setStatus(status);
+        task.setDueDate(LocalDate.now().minusDays(1));
+        return task;
+    }
+}
@@ -1,22 +1,55 @@
 package com.taskio.service;
 
+import com.taskio.config.CacheConfig;
+import com.taskio.dto.BatchItemResult;
+import com.taskio.dto.CategoryCount;
+import com.taskio.dto.DueDateSummary;
+import com.taskio.dto.StatusCount;
+import com.taskio.dto.TaskChange;
+import com.taskio.dto.TaskPage;
+import com.taskio.dto.TaskPatch;
+import com.taskio.dto.TaskStats;
+import com.taskio.dto.TaskView;
+import com.taskio.exception.BatchSizeExceededException;
+import com.taskio.exception.InvalidCursorException;
+import com.taskio.exception.TaskNotFoundException;
+import com.taskio.exception.TaskVersionConflictException;
+import com.taskio.journal.TaskJournal;
 import com.taskio.model.Task;
 import com.taskio.model.TaskStatus;
+import com.taskio.repository.TaskFilter;
 import com.taskio.repository.TaskRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
@@ -26,11 +59,40 @@ class TaskServiceTest {
     @Mock
     private TaskRepository taskRepository;
 
+    @Spy
+    private TaskSearchIndex searchIndex = new TaskSearchIndex();
+
+    @Spy
+    private CategoryDictionary categoryDictionary = new CategoryDictionary();
+
+    @Spy
+    private TaskDueDateIndex dueDateIndex = new TaskDueDateIndex();
+
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @Spy
+    private ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private TaskChangeFeed changeFeed;
+
+    @Mock
+    private TaskJournal journal;
+
+    @Spy
+    private CacheManager cacheManager = new ConcurrentMapCacheManager(CacheConfig.TASKS_CACHE);
+
     @InjectMocks
     private TaskService taskService;
 
     private Task testTask;
 
+    private TaskView testTaskView;
+
     @BeforeEach
     void setUp() {
         testTask = new Task();
@@ -40,20 +102,25 @@ class TaskServiceTest {
         testTask.setStatus(TaskStatus.TODO);
         testTask.setDueDate(LocalDate.of(2026, 1, 20));
         testTask.setCategory("Work");
+        testTask.setVersion(3L);
+
+        testTaskView = new TaskView(1L, "Test Task", "Test Description", TaskStatus.TODO,
+                LocalDate.of(2026, 1, 20), "Work", 3L);
     }
 
     @Test
     void getAllTasks_ShouldReturnAllTasks() {
         // Given
-        List<Task> mockTasks = Arrays.asList(testTask, new Task());
-        when(taskRepository.findAll()).thenReturn(mockTasks);
+        List<TaskView> mockTasks = Arrays.asList(testTaskView, view(2L, "Other"));
+        when(taskRepository.findAllViews()).thenReturn(mockTasks);
 
         // When
-        List<Task> result = taskService.getAllTasks();
+        List<TaskView> result = taskService.getAllTasks();
 
         // Then
         assertThat(result).hasSize(2);
-        verify(taskRepository, times(1)).findAll();
+        verify(taskRepository, times(1)).findAllViews();
+        verify(taskRepository, never()).findAll();
     }
 
     @Test
@@ -83,6 +150,18 @@ class TaskServiceTest {
         verify(taskRepository, times(1)).findById(999L);
     }
 
+    @Test
+    void createTask_ShouldIndexSavedTask() {
+        // Given
+        stubSave(testTask);
+
+        // When
+        taskService.createTask(testTask);
+
+        // Then
+        assertThat(searchIndex.candidates("description")).containsExactly(1L);
+    }
+
     @Test
     void createTask_ShouldSaveAndReturnTask() {
         // Given
@@ -101,6 +180,21 @@ class TaskServiceTest {
         verify(taskRepository, times(1)).save(newTask);
     }
 
+    @Test
+    void createTask_WithClientId_ShouldSaveAsNewTask() {
+        // Given
+        Task newTask = new Task();
+        newTask.setId(5L);
+        newTask.setTitle("New Task");
+        when(taskRepository.save(any(Task.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        taskService.createTask(newTask);
+
+        // Then
+        verify(taskRepository).save(argThat(task -> task.getId() == null));
+    }
+
     @Test
     void updateTask_WhenTaskExists_ShouldUpdateAndReturnTask() {
         // Given
@@ -111,11 +205,10 @@ class TaskServiceTest {
         updatedDetails.setDueDate(LocalDate.of(2026, 2, 1));
         updatedDetails.setCategory("Personal");
 
-        when(taskRepository.findById(1L)).thenReturn(Optional.of(testTask));
-        when(taskRepository.save(any(Task.class))).thenReturn(testTask);
+        when(taskRepository.patchReturningPrevious(eq(1L), any(TaskPatch.class), isNull())).thenReturn(Optional.of(testTask));
 
         // When
-        Task result = taskService.updateTask(1L, updatedDetails);
+        Task result = taskService.updateTask(1L, updatedDetails, null);
 
         // Then
         assertThat(result.getTitle()).isEqualTo("Updated Task");
@@ -123,94 +216,260 @@ class TaskServiceTest {
         assertThat(result.getStatus()).isEqualTo(TaskStatus.IN_PROGRESS);
         assertThat(result.getDueDate()).isEqualTo(LocalDate.of(2026, 2, 1));
         assertThat(result.getCategory()).isEqualTo("Personal");
-        verify(taskRepository, times(1)).findById(1L);
-        verify(taskRepository, times(1)).save(testTask);
+        verify(taskRepository, times(1)).patchReturningPrevious(1L, TaskPatch.replacing(updatedDetails), null);
+        verify(taskRepository, never()).findById(any());
+        verify(taskRepository, never()).save(any(Task.class));
+    }
+
+    @Test
+    void updateTask_ShouldReindexChangedText() {
+        // Given
+        searchIndex.add(testTask);
+        Task updatedDetails = new Task();
+        updatedDetails.setTitle("Renamed");
+        updatedDetails.setStatus(TaskStatus.TODO);
+
+        when(taskRepository.patchReturningPrevious(eq(1L), any(TaskPatch.class), isNull())).thenReturn(Optional.of(testTask));
+
+        // When
+        taskService.updateTask(1L, updatedDetails, null);
+
+        // Then
+        assertThat(searchIndex.candidates("test")).isEmpty();
+        assertThat(searchIndex.candidates("renamed")).containsExactly(1L);
     }
 
     @Test
     void updateTask_WhenTaskDoesNotExist_ShouldThrowException() {
         // Given
         Task updatedDetails = new Task();
-        when(taskRepository.findById(999L)).thenReturn(Optional.empty());
+        when(taskRepository.patchReturningPrevious(eq(999L), any(TaskPatch.class), isNull())).thenReturn(Optional.empty());
 
         // When & Then
-        assertThatThrownBy(() -> taskService.updateTask(999L, updatedDetails))
-                .isInstanceOf(RuntimeException.class)
+        assertThatThrownBy(() -> taskService.updateTask(999L, updatedDetails, null))
+                .isInstanceOf(TaskNotFoundException.class)
                 .hasMessageContaining("Task not found with id: 999");
         
-        verify(taskRepository, times(1)).findById(999L);
         verify(taskRepository, never()).save(any(Task.class));
     }
 
     @Test
-    void deleteTask_WhenTaskExists_ShouldDeleteTask() {
+    void patchTask_ShouldUpdateOnlyPatchedFieldsAndReindex() {
+        // Given
+        searchIndex.add(testTask);
+        TaskPatch patch = new TaskPatch(Optional.of("Renamed"), Optional.empty(), null, null, null);
+        when(taskRepository.patchReturningPrevious(1L, patch, null)).thenReturn(Optional.of(testTask));
+
+        // When
+        Task result = taskService.patchTask(1L, patch, null);
+
+        // Then
+        assertThat(result.getTitle()).isEqualTo("Renamed");
+        assertThat(result.getDescription()).isNull();
+        assertThat(result.getStatus()).isEqualTo(TaskStatus.TODO);
+        assertThat(result.getCategory()).isEqualTo("Work");
+        assertThat(searchIndex.candidates("renamed")).containsExactly(1L);
+        verify(taskRepository, never()).save(any(Task.class));
+    }
+
+    @Test
+    void patchTask_WithEmptyPatch_ShouldReturnCurrentTaskWithoutWriting() {
         // Given
         when(taskRepository.findById(1L)).thenReturn(Optional.of(testTask));
-        doNothing().when(taskRepository).delete(testTask);
 
         // When
-        taskService.deleteTask(1L);
+        Task result = taskService.patchTask(1L, new TaskPatch(null, null, null, null, null), null);
 
         // Then
-        verify(taskRepository, times(1)).findById(1L);
-        verify(taskRepository, times(1)).delete(testTask);
+        assertThat(result).isEqualTo(testTask);
+        verify(taskRepository, never()).patchReturningPrevious(any(), any(), any());
+    }
+
+    @Test
+    void patchTask_ShouldReturnTaskAtNextVersion() {
+        // Given
+        TaskPatch patch = new TaskPatch(Optional.of("Renamed"), null, null, null, null);
+        when(taskRepository.patchReturningPrevious(1L, patch, 3L)).thenReturn(Optional.of(testTask));
+
+        // When
+        Task result = taskService.patchTask(1L, patch, 3L);
+
+        // Then
+        assertThat(result.getVersion()).isEqualTo(4L);
+    }
+
+    @Test
+    void patchTask_WhenVersionIsStale_ShouldThrowConflictAndEvictCachedTask() {
+        // Given
+        TaskPatch patch = new TaskPatch(Optional.of("Renamed"), null, null, null, null);
+        cacheManager.getCache(CacheConfig.TASKS_CACHE).put(1L, Optional.of(testTask));
+        when(taskRepository.patchReturningPrevious(1L, patch, 2L)).thenReturn(Optional.empty());
+        when(taskRepository.existsById(1L)).thenReturn(true);
+
+        // When & Then
+        assertThatThrownBy(() -> taskService.patchTask(1L, patch, 2L))
+                .isInstanceOf(TaskVersionConflictException.class);
+        assertThat(cacheManager.getCache(CacheConfig.TASKS_CACHE).get(1L)).isNull();
+    }
+
+    @Test
+    void patchTask_WithEmptyPatchAndStaleVersion_ShouldThrowConflict() {
+        // Given
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(testTask));
+
+        // When & Then
+        assertThatThrownBy(() -> taskService.patchTask(1L, new TaskPatch(null, null, null, null, null), 2L))
+                .isInstanceOf(TaskVersionConflictException.class);
+    }
+
+    @Test
+    void deleteTask_WhenConditionalAndTaskIsMissing_ShouldThrowNotFound() {
+        // Given
+        when(taskRepository.deleteReturningPrevious(999L, 0L)).thenReturn(Optional.empty());
+        when(taskRepository.existsById(999L)).thenReturn(false);
+
+        // When & Then
+        assertThatThrownBy(() -> taskService.deleteTask(999L, 0L))
+                .isInstanceOf(TaskNotFoundException.class);
+    }
+
+    @Test
+    void writes_ShouldJournalAndPublishChanges() {
+        // Given
+        Task newTask = new Task();
+        newTask.setId(2L);
+        newTask.setTitle("New Task");
+        stubSave(newTask);
+        TaskPatch patch = new TaskPatch(Optional.of("Renamed"), null, null, null, null);
+        when(taskRepository.patchReturningPrevious(1L, patch, null)).thenReturn(Optional.of(testTask));
+        when(taskRepository.deleteReturningPrevious(2L, null)).thenReturn(Optional.of(newTask));
+
+        // When
+        taskService.createTask(newTask);
+        taskService.patchTask(1L, patch, null);
+        taskService.deleteTask(2L, null);
+
+        // Then
+        verify(journal).append(List.of(TaskChange.created(newTask)));
+        verify(journal).append(List.of(TaskChange.updated(testTask)));
+        verify(journal).append(List.of(TaskChange.deleted(2L)));
+        verify(changeFeed).publish(List.of(TaskChange.created(newTask)));
+        verify(changeFeed).publish(List.of(TaskChange.updated(testTask)));
+        verify(changeFeed).publish(List.of(TaskChange.deleted(2L)));
+    }
+
+    @Test
+    void createTask_WhenJournalFails_ShouldThrowAndNotPublish() {
+        // Given
+        Task newTask = new Task();
+        newTask.setId(2L);
+        newTask.setTitle("New Task");
+        stubSave(newTask);
+        doThrow(new UncheckedIOException(new IOException("No space left on device")))
+                .when(journal).append(List.of(TaskChange.created(newTask)));
+
+        // When & Then
+        assertThatThrownBy(() -> taskService.createTask(newTask))
+                .isInstanceOf(UncheckedIOException.class);
+        verify(changeFeed, never()).publish(anyList());
+    }
+
+    @Test
+    void deleteTask_WhenTaskExists_ShouldDeleteTask() {
+        // Given
+        when(taskRepository.deleteReturningPrevious(1L, null)).thenReturn(Optional.of(testTask));
+
+        // When
+        taskService.deleteTask(1L, null);
+
+        // Then
+        verify(taskRepository, times(1)).deleteReturningPrevious(1L, null);
+        verify(taskRepository, never()).findById(any());
     }
 
     @Test
     void deleteTask_WhenTaskDoesNotExist_ShouldThrowException() {
         // Given
-        when(taskRepository.findById(999L)).thenReturn(Optional.empty());
+        when(taskRepository.deleteReturningPrevious(999L, null)).thenReturn(Optional.empty());
 
         // When & Then
-        assertThatThrownBy(() -> taskService.deleteTask(999L))
-                .isInstanceOf(RuntimeException.class)
+        assertThatThrownBy(() -> taskService.deleteTask(999L, null))
+                .isInstanceOf(TaskNotFoundException.class)
                 .hasMessageContaining("Task not found with id: 999");
         
-        verify(taskRepository, times(1)).findById(999L);
         verify(taskRepository, never()).delete(any(Task.class));
     }
 
     @Test
     void searchTasks_WithSearchTerm_ShouldReturnMatchingTasks() {
         // Given
-        List<Task> mockTasks = Arrays.asList(testTask);
-        when(taskRepository.searchByTitleOrDescription("test")).thenReturn(mockTasks);
+        searchIndex.add(testTask);
+        List<TaskView> mockTasks = Arrays.asList(testTaskView);
+        when(taskRepository.findByIdInAndFilter(List.of(1L), new TaskFilter(null, null, null, null, null))).thenReturn(mockTasks);
 
         // When
-        List<Task> result = taskService.searchTasks("test");
+        List<TaskView> result = taskService.searchTasks("test");
 
         // Then
         assertThat(result).hasSize(1);
-        verify(taskRepository, times(1)).searchByTitleOrDescription("test");
+        verify(taskRepository, times(1)).findByIdInAndFilter(List.of(1L), new TaskFilter(null, null, null, null, null));
+        verify(taskRepository, never()).searchByTitleOrDescription(anyString());
+    }
+
+    @Test
+    void searchTasks_WithNoIndexMatch_ShouldNotQueryRepository() {
+        // Given
+        searchIndex.add(testTask);
+
+        // When
+        List<TaskView> result = taskService.searchTasks("missing");
+
+        // Then
+        assertThat(result).isEmpty();
+        verifyNoInteractions(taskRepository);
+    }
+
+    @Test
+    void searchTasks_WithShortSearchTerm_ShouldFallBackToRepositorySearch() {
+        // Given
+        List<TaskView> mockTasks = Arrays.asList(testTaskView);
+        when(taskRepository.searchByTitleOrDescription("te")).thenReturn(mockTasks);
+
+        // When
+        List<TaskView> result = taskService.searchTasks("te");
+
+        // Then
+        assertThat(result).hasSize(1);
+        verify(taskRepository, times(1)).searchByTitleOrDescription("te");
     }
 
     @Test
     void searchTasks_WithEmptySearchTerm_ShouldReturnAllTasks() {
         // Given
-        List<Task> mockTasks = Arrays.asList(testTask, new Task());
-        when(taskRepository.findAll()).thenReturn(mockTasks);
+        List<TaskView> mockTasks = Arrays.asList(testTaskView, view(2L, "Other"));
+        when(taskRepository.findAllViews()).thenReturn(mockTasks);
 
         // When
-        List<Task> result = taskService.searchTasks("");
+        List<TaskView> result = taskService.searchTasks("");
 
         // Then
         assertThat(result).hasSize(2);
-        verify(taskRepository, times(1)).findAll();
+        verify(taskRepository, times(1)).findAllViews();
         verify(taskRepository, never()).searchByTitleOrDescription(anyString());
     }
 
     @Test
     void filterByStatus_ShouldReturnTasksWithStatus() {
         // Given
-        List<Task> mockTasks = Arrays.asList(testTask);
+        List<TaskView> mockTasks = Arrays.asList(testTaskView);
         when(taskRepository.findByStatus(TaskStatus.TODO)).thenReturn(mockTasks);
 
         // When
-        List<Task> result = taskService.filterByStatus(TaskStatus.TODO);
+        List<TaskView> result = taskService.filterByStatus(TaskStatus.TODO);
 
         // Then
         assertThat(result).hasSize(1);
-        assertThat(result.get(0).getStatus()).isEqualTo(TaskStatus.TODO);
+        assertThat(result.get(0).status()).isEqualTo(TaskStatus.TODO);
         verify(taskRepository, times(1)).findByStatus(TaskStatus.TODO);
     }
 
@@ -219,11 +478,11 @@ class TaskServiceTest {
         // Given
         LocalDate startDate = LocalDate.of(2026, 1, 1);
         LocalDate endDate = LocalDate.of(2026, 1, 31);
-        List<Task> mockTasks = Arrays.asList(testTask);
+        List<TaskView> mockTasks = Arrays.asList(testTaskView);
         when(taskRepository.findByDueDateBetween(startDate, endDate)).thenReturn(mockTasks);
 
         // When
-        List<Task> result = taskService.filterByDateRange(startDate, endDate);
+        List<TaskView> result = taskService.filterByDateRange(startDate, endDate);
 
         // Then
         assertThat(result).hasSize(1);
@@ -239,45 +498,404 @@ class TaskServiceTest {
         LocalDate endDate = LocalDate.of(2026, 1, 31);
         String category = "Work";
         
-        List<Task> mockTasks = Arrays.asList(testTask);
-        when(taskRepository.findBySearchAndFilters(searchTerm, status, startDate, endDate, category))
+        searchIndex.add(testTask);
+        List<TaskView> mockTasks = Arrays.asList(testTaskView);
+        when(taskRepository.findByIdInAndFilter(List.of(1L), new TaskFilter(null, status, startDate, endDate, category)))
                 .thenReturn(mockTasks);
 
         // When
-        List<Task> result = taskService.searchAndFilter(searchTerm, status, startDate, endDate, category);
+        List<TaskView> result = taskService.searchAndFilter(searchTerm, status, startDate, endDate, category);
 
         // Then
         assertThat(result).hasSize(1);
-        verify(taskRepository, times(1)).findBySearchAndFilters(searchTerm, status, startDate, endDate, category);
+        verify(taskRepository, times(1))
+                .findByIdInAndFilter(List.of(1L), new TaskFilter(null, status, startDate, endDate, category));
+    }
+
+    @Test
+    void searchAndFilter_WithStatusOnly_ShouldQueryOnlyThatFilter() {
+        // Given
+        when(taskRepository.findViews(new TaskFilter(null, TaskStatus.TODO, null, null, null), Limit.unlimited()))
+                .thenReturn(List.of(testTaskView));
+
+        // When
+        List<TaskView> result = taskService.searchAndFilter(" ", TaskStatus.TODO, null, null, "");
+
+        // Then
+        assertThat(result).containsExactly(testTaskView);
     }
 
     @Test
     void searchAndFilter_WithNoFilters_ShouldReturnAllTasks() {
         // Given
-        List<Task> mockTasks = Arrays.asList(testTask, new Task());
-        when(taskRepository.findAll()).thenReturn(mockTasks);
+        List<TaskView> mockTasks = Arrays.asList(testTaskView, view(2L, "Other"));
+        when(taskRepository.findAllViews()).thenReturn(mockTasks);
 
         // When
-        List<Task> result = taskService.searchAndFilter(null, null, null, null, null);
+        List<TaskView> result = taskService.searchAndFilter(null, null, null, null, null);
 
         // Then
         assertThat(result).hasSize(2);
-        verify(taskRepository, times(1)).findAll();
-        verify(taskRepository, never()).findBySearchAndFilters(any(), any(), any(), any(), any());
+        verify(taskRepository, times(1)).findAllViews();
+        verify(taskRepository, never()).findViews(any(), any());
     }
 
     @Test
     void getAllCategories_ShouldReturnDistinctCategories() {
         // Given
-        List<String> mockCategories = Arrays.asList("Work", "Personal", "Shopping");
-        when(taskRepository.findDistinctCategories()).thenReturn(mockCategories);
+        when(taskRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(1000))).thenReturn(List.of(
+                categorized(1L, "Work"), categorized(2L, "Shopping"), categorized(3L, "Personal"),
+                categorized(4L, "Work"), categorized(5L, "Shopping"), categorized(6L, null)));
+        taskService.buildIndexes();
 
         // When
         List<String> result = taskService.getAllCategories();
 
         // Then
         assertThat(result).hasSize(3);
-        assertThat(result).containsExactly("Work", "Personal", "Shopping");
-        verify(taskRepository, times(1)).findDistinctCategories();
+        assertThat(result).containsExactly("Personal", "Shopping", "Work");
+        assertThat(taskService.getCategoryCounts()).containsExactly(
+                new CategoryCount("Personal", 1), new CategoryCount("Shopping", 2), new CategoryCount("Work", 2));
+        verify(taskRepository, never()).findDistinctCategories();
+    }
+
+    @Test
+    void getCategoryCounts_ShouldFollowWrites() {
+        // Given
+        when(taskRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(1000))).thenReturn(List.of(testTask));
+        taskService.buildIndexes();
+
+        Task personal = new Task();
+        personal.setId(2L);
+        personal.setTitle("Personal errand");
+        personal.setCategory("Personal");
+        stubSave(personal);
+        when(taskRepository.patchReturningPrevious(eq(1L), any(TaskPatch.class), isNull())).thenReturn(Optional.of(testTask));
+        when(taskRepository.deleteReturningPrevious(1L, null)).thenReturn(Optional.of(testTask));
+
+        Task moved = new Task();
+        moved.setTitle("Test Task");
+        moved.setCategory("Personal");
+
+        // When
+        taskService.createTask(personal);
+        taskService.updateTask(1L, moved, null);
+
+        // Then - "Work" dropped to zero and disappeared
+        assertThat(taskService.getCategoryCounts()).containsExactly(new CategoryCount("Personal", 2));
+
+        // And deleting brings the count back down
+        taskService.deleteTask(1L, null);
+        assertThat(taskService.getCategoryCounts()).containsExactly(new CategoryCount("Personal", 1));
+    }
+
+    @Test
+    void getTasksPage_WhenMoreTasksExist_ShouldReturnNextCursor() {
+        // Given
+        TaskView second = view(2L, "Second");
+        TaskView third = view(3L, "Third");
+        when(taskRepository.findViewsByIdGreaterThan(0L, Limit.of(3)))
+                .thenReturn(Arrays.asList(testTaskView, second, third));
+
+        // When
+        TaskPage page = taskService.getTasksPage(null, 2);
+
+        // Then
+        assertThat(page.items()).extracting(TaskView::id).containsExactly(1L, 2L);
+        assertThat(page.nextCursor()).isNotNull();
+
+        // And the cursor resumes after the last returned id
+        when(taskRepository.findViewsByIdGreaterThan(2L, Limit.of(3)))
+                .thenReturn(Arrays.asList(third));
+
+        TaskPage next = taskService.getTasksPage(page.nextCursor(), 2);
+
+        assertThat(next.items()).extracting(TaskView::id).containsExactly(3L);
+        assertThat(next.nextCursor()).isNull();
+    }
+
+    @Test
+    void searchAndFilterPage_WithIndexedTerm_ShouldResumeAfterCursor() {
+        // Given
+        Task second = new Task();
+        second.setId(2L);
+        second.setTitle("Another test");
+        searchIndex.addAll(List.of(testTask, second));
+        TaskView secondView = view(2L, "Another test");
+        when(taskRepository.findByIdInAndFilter(List.of(2L), new TaskFilter(null, TaskStatus.TODO, null, null, null)))
+                .thenReturn(List.of(secondView));
+
+        // When
+        TaskPage page = taskService.searchAndFilterPage("test", TaskStatus.TODO, null, null, null,
+                TaskCursor.encode(1L), 10);
+
+        // Then
+        assertThat(page.items()).containsExactly(secondView);
+        assertThat(page.nextCursor()).isNull();
+    }
+
+    @Test
+    void getTasksPage_WithInvalidCursor_ShouldThrowException() {
+        // When & Then
+        assertThatThrownBy(() -> taskService.getTasksPage("not-a-cursor", 10))
+                .isInstanceOf(InvalidCursorException.class);
+
+        verify(taskRepository, never()).findViewsByIdGreaterThan(any(), any());
+    }
+
+    @Test
+    void searchAndFilterPage_ShouldClampLimitAndNormalizeFilters() {
+        // Given
+        when(taskRepository.findByFilterAfter(new TaskFilter("te", null, null, null, "Work"), 0L,
+                Limit.of(TaskService.MAX_PAGE_SIZE + 1)))
+                .thenReturn(Arrays.asList(testTaskView));
+
+        // When
+        TaskPage page = taskService.searchAndFilterPage(" te ", null, null, null, " Work ", null, 10_000);
+
+        // Then
+        assertThat(page.items()).hasSize(1);
+        assertThat(page.nextCursor()).isNull();
+    }
+
+    @Test
+    void createTasks_ShouldSaveValidTasksAndReportInvalidOnes() {
+        // Given
+        Task valid = new Task();
+        valid.setTitle("Valid");
+        Task invalid = new Task();
+        invalid.setTitle("");
+        when(taskRepository.saveAll(List.of(valid))).thenAnswer(invocation -> {
+            valid.setId(10L);
+            return List.of(valid);
+        });
+
+        // When
+        List<BatchItemResult> results = taskService.createTasks(List.of(invalid, valid));
+
+        // Then
+        assertThat(results).extracting(BatchItemResult::status).containsExactly(400, 201);
+        assertThat(results.get(0).message()).contains("title");
+        assertThat(results.get(1).id()).isEqualTo(10L);
+        assertThat(searchIndex.candidates("valid")).containsExactly(10L);
+    }
+
+    @Test
+    void createTasks_WhenBatchIsTooLarge_ShouldThrowException() {
+        // Given
+        List<Task> tasks = Collections.nCopies(TaskService.MAX_BATCH_SIZE + 1, testTask);
+
+        // When & Then
+        assertThatThrownBy(() -> taskService.createTasks(tasks))
+                .isInstanceOf(BatchSizeExceededException.class);
+        verifyNoInteractions(taskRepository);
+    }
+
+    @Test
+    void updateTasks_ShouldApplyChangesAndReportMissingTasks() {
+        // Given
+        Task changes = new Task();
+        changes.setId(1L);
+        changes.setTitle("Changed");
+        Task missing = new Task();
+        missing.setId(999L);
+        missing.setTitle("Missing");
+        Task withoutId = new Task();
+        withoutId.setTitle("No id");
+        when(taskRepository.findAllById(any())).thenReturn(new ArrayList<>(List.of(testTask)));
+
+        // When
+        List<BatchItemResult> results = taskService.updateTasks(List.of(changes, missing, withoutId));
+
+        // Then
+        assertThat(results).extracting(BatchItemResult::status).containsExactly(200, 404, 400);
+        assertThat(testTask.getTitle()).isEqualTo("Changed");
+        verify(taskRepository, times(1)).saveAll(any());
+    }
+
+    @Test
+    void deleteTasks_ShouldDeleteExistingTasksInOneStatement() {
+        // Given
+        searchIndex.add(testTask);
+        when(taskRepository.findAllById(List.of(1L, 999L))).thenReturn(List.of(testTask));
+
+        // When
+        List<BatchItemResult> results = taskService.deleteTasks(List.of(1L, 999L));
+
+        // Then
+        assertThat(results).extracting(BatchItemResult::status).containsExactly(204, 404);
+        verify(taskRepository, times(1)).deleteAllInBatch(any());
+        assertThat(searchIndex.candidates("test")).isEmpty();
+    }
+
+    @Test
+    void getTasksByIds_ShouldReturnTasksInIdOrder() {
+        // Given
+        when(taskRepository.findViewsByIdIn(List.of(2L, 1L))).thenReturn(List.of(view(2L, "Second"), testTaskView));
+
+        // When
+        List<TaskView> result = taskService.getTasksByIds(List.of(2L, 1L));
+
+        // Then
+        assertThat(result).extracting(TaskView::id).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void exportTasks_ShouldWriteOneJsonObjectPerLineAndDetachRows() throws Exception {
+        // Given
+        Task second = new Task();
+        second.setId(2L);
+        second.setTitle("Second");
+        when(taskRepository.streamAll()).thenReturn(Stream.of(testTask, second));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        long count = taskService.exportTasks(out);
+
+        // Then
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(count).isEqualTo(2);
+        assertThat(lines).hasSize(2);
+        assertThat(lines[0]).contains("\"title\":\"Test Task\"");
+        assertThat(lines[1]).contains("\"id\":2");
+        verify(entityManager, times(1)).detach(testTask);
+        verify(entityManager, times(1)).detach(second);
+    }
+
+    @Test
+    void getStats_ShouldCombineGroupedCounts() {
+        // Given
+        DueDateSummary dueDates = new DueDateSummary(1, 0, 2, 0, 0);
+        when(taskRepository.countByStatusFiltered(null, null, null, null, "Work"))
+                .thenReturn(List.of(new StatusCount(TaskStatus.TODO, 2), new StatusCount(TaskStatus.DONE, 1)));
+        when(taskRepository.countByCategoryFiltered(null, null, null, null, "Work"))
+                .thenReturn(List.of(new CategoryCount("Work", 3)));
+        when(taskRepository.summarizeOpenDueDatesFiltered(eq(null), eq(null), eq(null), eq(null), eq("Work"),
+                any(LocalDate.class), any(LocalDate.class)))
+                .thenReturn(dueDates);
+
+        // When
+        TaskStats stats = taskService.getStats(" ", null, null, null, " Work ");
+
+        // Then
+        assertThat(stats.total()).isEqualTo(3);
+        assertThat(stats.byStatus()).containsEntry(TaskStatus.TODO, 2L)
+                .containsEntry(TaskStatus.IN_PROGRESS, 0L)
+                .containsEntry(TaskStatus.DONE, 1L);
+        assertThat(stats.byCategory()).containsExactly(entry("Work", 3L));
+        assertThat(stats.dueDates()).isEqualTo(dueDates);
+    }
+
+    @Test
+    void getDataVersionTag_ShouldChangeOnEveryWrite() {
+        // Given
+        stubSave(testTask);
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(testTask));
+        when(taskRepository.deleteReturningPrevious(1L, null)).thenReturn(Optional.of(testTask));
+        String initial = taskService.getDataVersionTag();
+
+        // When
+        taskService.createTask(testTask);
+        String afterCreate = taskService.getDataVersionTag();
+        taskService.getTaskById(1L);
+        String afterRead = taskService.getDataVersionTag();
+        taskService.deleteTask(1L, null);
+
+        // Then
+        assertThat(afterCreate).isNotEqualTo(initial);
+        assertThat(afterRead).isEqualTo(afterCreate);
+        assertThat(taskService.getDataVersionTag()).isNotEqualTo(afterCreate);
+    }
+
+    @Test
+    void getOverdueTasks_ShouldLoadOnlyIndexedTasksMostOverdueFirst() {
+        // Given
+        LocalDate today = LocalDate.now();
+        dueDateIndex.addAll(List.of(
+                due(1L, TaskStatus.TODO, today.minusDays(1)),
+                due(2L, TaskStatus.IN_PROGRESS, today.minusDays(5)),
+                due(3L, TaskStatus.DONE, today.minusDays(9)),
+                due(4L, TaskStatus.TODO, today)));
+        // Task 1 was completed after the index lookup
+        when(taskRepository.findViewsByIdIn(List.of(2L, 1L))).thenReturn(List.of(
+                new TaskView(1L, "One", null, TaskStatus.DONE, today.minusDays(1), null, 0L),
+                new TaskView(2L, "Two", null, TaskStatus.IN_PROGRESS, today.minusDays(5), null, 0L)));
+
+        // When
+        List<TaskView> result = taskService.getOverdueTasks(null);
+
+        // Then
+        assertThat(result).extracting(TaskView::id).containsExactly(2L);
+    }
+
+    @Test
+    void getOverdueTasks_WhenIndexReturnsIdTwice_ShouldListTaskOnce() {
+        // Given
+        LocalDate today = LocalDate.now();
+        doReturn(new long[]{2L, 2L, 1L}).when(dueDateIndex).dueBefore(today, TaskService.DEFAULT_PAGE_SIZE);
+        when(taskRepository.findViewsByIdIn(List.of(2L, 1L))).thenReturn(List.of(
+                new TaskView(1L, "One", null, TaskStatus.TODO, today.minusDays(1), null, 0L),
+                new TaskView(2L, "Two", null, TaskStatus.TODO, today.minusDays(5), null, 0L)));
+
+        // When
+        List<TaskView> result = taskService.getOverdueTasks(null);
+
+        // Then
+        assertThat(result).extracting(TaskView::id).containsExactly(2L, 1L);
+    }
+
+    @Test
+    void getDueSoonTasks_ShouldFollowWritesAndApplyLimit() {
+        // Given
+        LocalDate today = LocalDate.now();
+        dueDateIndex.addAll(List.of(
+                due(1L, TaskStatus.TODO, today.plusDays(2)),
+                due(2L, TaskStatus.TODO, today.plusDays(1)),
+                due(3L, TaskStatus.TODO, today.plusDays(30))));
+        Task previous = due(2L, TaskStatus.TODO, today.plusDays(1));
+        TaskPatch patch = new TaskPatch(null, null, Optional.of(TaskStatus.DONE), null, null);
+        when(taskRepository.patchReturningPrevious(2L, patch, null)).thenReturn(Optional.of(previous));
+        when(taskRepository.findViewsByIdIn(List.of(1L))).thenReturn(List.of(
+                new TaskView(1L, "One", null, TaskStatus.TODO, today.plusDays(2), null, 0L)));
+
+        // When
+        taskService.patchTask(2L, patch, null);
+        List<TaskView> result = taskService.getDueSoonTasks(7, 1);
+
+        // Then
+        assertThat(result).extracting(TaskView::id).containsExactly(1L);
+        assertThat(dueDateIndex.dueBetween(today, today.plusDays(7), 10)).containsExactly(1L);
+    }
+
+    // Saving assigns the id back, as createTask clears whatever id the task came with
+    private void stubSave(Task task) {
+        Long id = task.getId();
+        when(taskRepository.save(task)).thenAnswer(invocation -> {
+            task.setId(id);
+            return task;
+        });
+    }
+
+    private static Task due(long id, TaskStatus status, LocalDate dueDate) {
+        Task task = new Task();
+        task.setId(id);
+        task.setTitle("Task " + id);
+        task.setStatus(status);
+        task.setDueDate(dueDate);
+        task.setVersion(0L);
+        return task;
+    }
+
+    private static Task categorized(long id, String category) {
+        Task task = new Task();
+        task.setId(id);
+        task.setTitle("Task " + id);
+        task.setCategory(category);
+        task.setVersion(0L);
+        return task;
+    }
+
+    private static TaskView view(long id, String title) {
+        return new TaskView(id, title, null, TaskStatus.TODO, null, null, 0L);
     }
 }
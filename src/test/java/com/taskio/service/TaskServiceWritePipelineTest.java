@@ -0,0 +1,157 @@
+package com.taskio.service;
+
+import com.taskio.dto.CategoryCount;
+import com.taskio.dto.TaskView;
+import com.taskio.journal.TaskJournal;
+import com.taskio.model.Task;
+import com.taskio.model.TaskStatus;
+import com.taskio.repository.TaskRepository;
+import org.h2.api.Trigger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doThrow;
+
+// A batch of the write pipeline that fails on insert is rolled back and retried task by task
+// through the real TaskService; the indexes must only count the retried tasks that committed.
+// A batch that committed but could not be journaled must not be retried.
+@SpringBootTest(properties = {
+        "taskio.write-pipeline.enabled=true",
+        "taskio.write-pipeline.max-batch-size=4",
+        "taskio.write-pipeline.max-delay=10s"
+})
+class TaskServiceWritePipelineTest {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskSearchIndex searchIndex;
+
+    @Autowired
+    private TaskDueDateIndex dueDateIndex;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @SpyBean
+    private TaskJournal journal;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("CREATE TRIGGER reject_bad_title BEFORE INSERT ON tasks FOR EACH ROW CALL '"
+                + RejectBadTitle.class.getName() + "'");
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP TRIGGER IF EXISTS reject_bad_title");
+        taskRepository.deleteAllInBatch();
+        taskService.buildIndexes();
+    }
+
+    @Test
+    void createTask_WhenBatchFailsOnInsert_ShouldIndexOnlyTheRetriedTasks() throws Exception {
+        // Given - a full batch, so it is flushed as soon as the last task is queued; the bad task
+        // passes validation and is only rejected by the database when the batch is flushed
+        List<String> titles = List.of("good task 1", "good task 2", "bad", "good task 3");
+
+        // When
+        ExecutorService callers = Executors.newFixedThreadPool(titles.size());
+        List<Future<Task>> results = new ArrayList<>();
+        try {
+            for (String title : titles) {
+                results.add(callers.submit(() -> taskService.createTask(task(title))));
+            }
+            List<Long> saved = new ArrayList<>();
+            for (int i = 0; i < results.size(); i++) {
+                if (titles.get(i).equals("bad")) {
+                    Future<Task> bad = results.get(i);
+                    assertThatThrownBy(() -> bad.get(30, TimeUnit.SECONDS)).hasRootCauseInstanceOf(SQLException.class);
+                } else {
+                    saved.add(results.get(i).get(30, TimeUnit.SECONDS).getId());
+                }
+            }
+
+            // Then - the rolled back batch left neither counts nor ids behind
+            assertThat(taskRepository.count()).isEqualTo(3);
+            assertThat(taskService.getCategoryCounts()).containsExactly(new CategoryCount("Work", 3L));
+            assertThat(searchIndex.candidates("task"))
+                    .containsExactlyInAnyOrder(saved.stream().mapToLong(Long::longValue).toArray());
+            assertThat(dueDateIndex.size()).isEqualTo(3);
+            assertThat(taskService.getOverdueTasks(null)).extracting(TaskView::id)
+                    .containsExactlyInAnyOrderElementsOf(saved);
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+
+    @Test
+    void createTask_WhenJournalFailsAfterCommit_ShouldNotInsertBatchTwice() throws Exception {
+        // Given - the batch commits, then the journal append in its after-commit hook fails
+        doThrow(new UncheckedIOException(new IOException("No space left on device"))).when(journal).append(anyList());
+        List<String> titles = List.of("task 1", "task 2", "task 3", "task 4");
+
+        // When
+        ExecutorService callers = Executors.newFixedThreadPool(titles.size());
+        List<Future<Task>> results = new ArrayList<>();
+        try {
+            for (String title : titles) {
+                results.add(callers.submit(() -> taskService.createTask(task(title))));
+            }
+
+            // Then - every caller hears about the journal failure, and each task is in the table once
+            for (Future<Task> result : results) {
+                assertThatThrownBy(() -> result.get(30, TimeUnit.SECONDS))
+                        .hasCauseInstanceOf(UncheckedIOException.class);
+            }
+            assertThat(taskRepository.count()).isEqualTo(titles.size());
+            assertThat(taskService.getCategoryCounts()).containsExactly(new CategoryCount("Work", 4L));
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+
+    private static Task task(String title) {
+        Task task = new Task();
+        task.setTitle(title);
+        task.setCategory("Work");
+        task.setStatus(TaskStatus.TODO);
+        task.setDueDate(LocalDate.now().minusDays(1));
+        return task;
+    }
+
+    // Stands in for a database constraint that bean validation does not know about
+    public static class RejectBadTitle implements Trigger {
+
+        @Override
+        public void fire(Connection connection, Object[] oldRow, Object[] newRow) throws SQLException {
+            if ("bad".equals(newRow[1])) {
+                throw new SQLException("Rejected task title: bad");
+            }
+        }
+    }
+}
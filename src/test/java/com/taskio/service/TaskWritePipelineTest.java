@@ -0,0 +1,155 @@
+package com.taskio.service;
+
+import com.taskio.model.Task;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TaskWritePipelineTest {
+
+    private final AtomicLong ids = new AtomicLong();
+    private final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+    private TaskWritePipeline pipeline;
+
+    @AfterEach
+    void tearDown() {
+        pipeline.close();
+    }
+
+    @Test
+    void submit_ShouldGroupQueuedCreatesAndCompleteEachWithItsTask() {
+        // Given - the first batch is held until the others have been queued
+        CountDownLatch release = new CountDownLatch(1);
+        pipeline = new TaskWritePipeline(10, Duration.ofMillis(5), 100, tasks -> {
+            await(release);
+            return insert(tasks);
+        });
+
+        // When
+        List<CompletableFuture<Task>> results = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            results.add(pipeline.submit(task("Task " + i)));
+        }
+        release.countDown();
+
+        // Then
+        for (int i = 0; i < results.size(); i++) {
+            Task saved = results.get(i).join();
+            assertThat(saved.getTitle()).isEqualTo("Task " + i);
+            assertThat(saved.getId()).isNotNull();
+        }
+        assertThat(batchSizes).allMatch(size -> size <= 10);
+        assertThat(batchSizes.stream().mapToInt(Integer::intValue).sum()).isEqualTo(25);
+        assertThat(batchSizes.size()).isLessThan(25);
+    }
+
+    @Test
+    void submit_WhenBatchFails_ShouldOnlyFailTheBadTask() {
+        // Given
+        CountDownLatch release = new CountDownLatch(1);
+        pipeline = new TaskWritePipeline(10, Duration.ofMillis(50), 100, tasks -> {
+            await(release);
+            if (tasks.stream().anyMatch(task -> task.getTitle().equals("bad"))) {
+                throw new IllegalStateException("constraint violated");
+            }
+            return insert(tasks);
+        });
+
+        // When
+        CompletableFuture<Task> good = pipeline.submit(task("good"));
+        CompletableFuture<Task> bad = pipeline.submit(task("bad"));
+        CompletableFuture<Task> alsoGood = pipeline.submit(task("also good"));
+        release.countDown();
+
+        // Then
+        assertThat(good.join().getId()).isNotNull();
+        assertThat(alsoGood.join().getId()).isNotNull();
+        assertThatThrownBy(bad::join)
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void submit_WhenBatchFailsAfterCommit_ShouldFailEveryCallerWithoutRetrying() {
+        // Given
+        CountDownLatch release = new CountDownLatch(1);
+        pipeline = new TaskWritePipeline(10, Duration.ofMillis(50), 100, tasks -> {
+            await(release);
+            insert(tasks);
+            throw new TaskWritePipeline.CommittedBatchException(new IllegalStateException("journal unavailable"));
+        });
+
+        // When
+        CompletableFuture<Task> first = pipeline.submit(task("first"));
+        CompletableFuture<Task> second = pipeline.submit(task("second"));
+        release.countDown();
+
+        // Then
+        assertThatThrownBy(first::join).hasCauseInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(second::join).hasCauseInstanceOf(IllegalStateException.class);
+        assertThat(batchSizes).containsExactly(2);
+    }
+
+    @Test
+    void submit_WhenQueueIsFull_ShouldReject() {
+        // Given - the writer is stuck on the first task, which leaves the queue to fill up
+        CountDownLatch release = new CountDownLatch(1);
+        pipeline = new TaskWritePipeline(1, Duration.ZERO, 2, tasks -> {
+            await(release);
+            return insert(tasks);
+        });
+        pipeline.submit(task("in flight"));
+        awaitQueueDrained();
+
+        // When
+        pipeline.submit(task("queued 1"));
+        pipeline.submit(task("queued 2"));
+
+        // Then
+        assertThatThrownBy(() -> pipeline.submit(task("rejected")))
+                .isInstanceOf(RejectedExecutionException.class);
+        release.countDown();
+    }
+
+    private List<Task> insert(List<Task> tasks) {
+        batchSizes.add(tasks.size());
+        tasks.forEach(task -> task.setId(ids.incrementAndGet()));
+        return tasks;
+    }
+
+    // Gives the writer thread time to take the first task off the queue
+    private static void awaitQueueDrained() {
+        try {
+            TimeUnit.MILLISECONDS.sleep(200);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static Task task(String title) {
+        Task task = new Task();
+        task.setTitle(title);
+        return task;
+    }
+}